@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Clase Bench: arnés mínimo de micro-benchmarks sin dependencias.
+ * Cada prueba prepara su estado fuera del tiempo medido, corre una tanda de
+ * operaciones y devuelve cuántas hizo. Tras unas tandas de calentamiento (JIT)
+ * se informa la mediana y el mínimo en nanosegundos por operación, junto con los
+ * bytes asignados por operación en el hilo que mide (como -prof gc de JMH).
+ */
+public final class Bench {
+
+    // Una tanda medible: setUp no se mide, run devuelve las operaciones realizadas
+    public interface Trial {
+        default void setUp() { }
+        long run();
+    }
+
+    // Acumulador para que el JIT no descarte los resultados medidos
+    public static long blackhole;
+
+    // Contador de bytes asignados por hilo de HotSpot (null si la JVM no lo ofrece)
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private final int warmups;
+    private final int runs;
+
+    // Constructor: define tandas de calentamiento y tandas medidas
+    public Bench(int warmups, int runs) {
+        this.warmups = warmups;
+        this.runs = runs;
+    }
+
+    // Imprime el encabezado de la tabla de resultados
+    public static void header() {
+        System.out.printf("%-22s %-32s %14s %14s %12s%n", "benchmark", "parámetros", "mediana ns/op", "mín ns/op", "bytes/op");
+    }
+
+    // Mide una prueba y escribe una fila de la tabla
+    public void measure(String name, String params, Trial trial) {
+        for (int i = 0; i < warmups; i++) {
+            trial.setUp();
+            blackhole += trial.run();
+        }
+        double[] nsPerOp = new double[runs];
+        double[] bytesPerOp = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            trial.setUp();
+            long b0 = allocatedBytes();
+            long t0 = System.nanoTime();
+            long ops = trial.run();
+            long elapsed = System.nanoTime() - t0;
+            long allocated = allocatedBytes() - b0;
+            nsPerOp[i] = (double) elapsed / Math.max(1, ops);
+            bytesPerOp[i] = (double) allocated / Math.max(1, ops);
+            blackhole += ops;
+        }
+        Arrays.sort(nsPerOp);
+        Arrays.sort(bytesPerOp);
+        String bytes = THREADS == null ? "-" : String.format("%.1f", bytesPerOp[runs / 2]);
+        System.out.printf("%-22s %-32s %14.1f %14.1f %12s%n", name, params, nsPerOp[runs / 2], nsPerOp[0], bytes);
+    }
+
+    // Bytes asignados hasta ahora por el hilo actual (0 si no hay contador)
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Obtiene el contador de asignaciones de HotSpot si está disponible
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)) return null;
+        if (!threads.isThreadAllocatedMemorySupported()) return null;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
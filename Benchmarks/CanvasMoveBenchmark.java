@@ -0,0 +1,69 @@
+package Benchmarks;
+
+import Shapes.*;
+import SilkRoads.Cell;
+
+/**
+ * Clase CanvasMoveBenchmark: mide cuántos movimientos de una figura de cinco partes
+ * (como un robot) por segundo soporta el lienzo sobre un tablero de 50x50.
+ * Los dos lados usan lotes (un repintado por movimiento, sin las pausas de wait) y solo
+ * cambia qué se repinta: toda la imagen (comportamiento anterior, setFullRedraw) o solo
+ * la región cambiada.
+ *
+ * Sin pantalla el lienzo dibuja en una imagen en memoria, así que mide lo mismo sin ventana.
+ * Ejecutar: java -Djava.awt.headless=true Benchmarks.CanvasMoveBenchmark [movimientos]
+ */
+public class CanvasMoveBenchmark {
+
+    public static void main(String[] args) {
+        int moves = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        // El tablero y la figura se arman en un lote (sin las pausas de cada dibujo)
+        Canvas canvas = Canvas.getCanvas();
+        Rectangle[] parts = new Rectangle[5];
+        Canvas.startFrame();
+        try {
+            new Board(50, 50).makeVisible();
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = new Rectangle();
+                parts[i].changeSize(8, 8);
+                parts[i].makeVisible();
+            }
+        } finally {
+            Canvas.endFrame();
+        }
+
+        // Calentamiento de ambos caminos (tantos movimientos como los medidos)
+        movesPerSecond(canvas, parts, moves, true);
+        movesPerSecond(canvas, parts, moves, false);
+
+        double full = movesPerSecond(canvas, parts, moves, true);
+        double dirty = movesPerSecond(canvas, parts, moves, false);
+
+        System.out.printf("%-28s %12s%n", "repintado (en lote)", "movs/s");
+        System.out.printf("%-28s %12.1f%n", "imagen completa", full);
+        System.out.printf("%-28s %12.1f%n", "región sucia", dirty);
+    }
+
+    // Mueve las cinco partes una celda de ida y vuelta, un lote por movimiento, y devuelve
+    // movimientos por segundo
+    private static double movesPerSecond(Canvas canvas, Rectangle[] parts, int moves, boolean fullRedraw) {
+        canvas.setFullRedraw(fullRedraw);
+        long t0 = System.nanoTime();
+        for (int m = 0; m < moves; m++) {
+            int d = (m & 1) == 0 ? Cell.STEP_X : -Cell.STEP_X;
+            Canvas.startFrame();
+            try {
+                for (Rectangle part : parts) {
+                    part.moveHorizontal(d);
+                    part.moveVertical(d);
+                }
+            } finally {
+                Canvas.endFrame();
+            }
+        }
+        double perSecond = moves / ((System.nanoTime() - t0) / 1e9);
+        canvas.setFullRedraw(false);
+        return perSecond;
+    }
+}
@@ -0,0 +1,295 @@
+package Benchmarks;
+
+import SilkRoads.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Clase EngineBenchmark: mide las operaciones del motor SilkRoad sin vista para
+ * varios tamaños de ruta y cantidades de robots y tiendas. Sirve para comparar
+ * números antes y después de cada cambio de rendimiento.
+ *
+ * Ejecutar: java -Djava.awt.headless=true Benchmarks.EngineBenchmark [rápido | humo]
+ * (humo: una tanda de cada prueba con tamaños mínimos, solo para ver que corre)
+ */
+public class EngineBenchmark {
+
+    private static final int[] ROUTE_SIZES = {1_000, 100_000};
+    private static final int[] ENTITY_COUNTS = {10, 1_000};
+
+    public static void main(String[] args) {
+        boolean smoke = args.length > 0 && args[0].equals("humo");
+        boolean quick = args.length > 0;
+        Bench bench = smoke ? new Bench(0, 1) : quick ? new Bench(2, 3) : new Bench(5, 10);
+        int[] routes = smoke ? new int[]{ROUTE_SIZES[0]} : ROUTE_SIZES;
+        int[] entityCounts = smoke ? new int[]{ENTITY_COUNTS[0]} : ENTITY_COUNTS;
+        int n = smoke ? 1_000 : 1_000_000;   // coordenadas, días del solver y pasos del diario
+
+        Bench.header();
+        for (int route : routes) {
+            for (int entities : entityCounts) {
+                String params = "ruta=" + route + " entidades=" + entities;
+                bench.measure("placeStore", params, new PlaceStores(route, entities));
+                bench.measure("placeRobot", params, new PlaceRobots(route, entities));
+                bench.measure("moveRobot manual", params, new ManualMoves(route, entities));
+                bench.measure("moveRobot automático", params, new AutomaticMoves(route, entities));
+                bench.measure("reboot", params, new Reboots(route, entities));
+                bench.measure("churn + reboot", params, new Churn(route, entities));
+            }
+            bench.measure("onPlaced autónoma", "ruta=" + route, new AutonomousPlacement(route));
+        }
+        bench.measure("locationToCoords", "n=" + n, new Coordinates(n));
+        bench.measure("packedCoords", "n=" + n, new PackedCoordinates(n));
+        // Tipos 1-2: todos los robots son NORMAL (camino rápido del índice)
+        bench.measure("SilkRoadSolver", "días=" + n + " tipos=1-2 pos<1e9", new SolverDays(n, 2, 1_000_000_000));
+        bench.measure("SilkRoadSolver", "días=" + n + " tipos=1-2 pos<1e5", new SolverDays(n, 2, 100_000));
+        bench.measure("SilkRoadSolver", "días=" + n + " tipos=1-4 pos<1e9", new SolverDays(n, 4, 1_000_000_000));
+        bench.measure("RoadJournal.restore", "pasos=" + n + " foto=" + n / 100, new JournalRestore(n, n / 100));
+        System.out.println("(blackhole " + Bench.blackhole + ")");
+    }
+
+    // Posiciones distintas al azar dentro de la ruta (semilla fija)
+    private static int[] distinctPositions(int route, int count, long seed) {
+        Random random = new Random(seed);
+        boolean[] used = new boolean[route];
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            int p;
+            do { p = random.nextInt(route); } while (used[p]);
+            used[p] = true;
+            positions[i] = p;
+        }
+        return positions;
+    }
+
+    // Ruta con robots y tiendas ya colocados
+    private static SilkRoad populated(int route, int entities) {
+        SilkRoad road = SilkRoad.headless(route);
+        int[] stores = distinctPositions(route, entities, 1);
+        int[] robots = distinctPositions(route, entities, 2);
+        for (int i = 0; i < entities; i++) {
+            road.placeStore(stores[i], 1 + stores[i] % 100);
+            road.placeRobot(robots[i]);
+        }
+        return road;
+    }
+
+    // Coloca todas las tiendas en una ruta vacía
+    private static class PlaceStores implements Bench.Trial {
+        private final int route;
+        private final int[] positions;
+        private SilkRoad road;
+
+        PlaceStores(int route, int entities) {
+            this.route = route;
+            this.positions = distinctPositions(route, entities, 1);
+        }
+
+        public void setUp() { road = SilkRoad.headless(route); }
+
+        public long run() {
+            for (int p : positions) road.placeStore(p, 50);
+            return positions.length;
+        }
+    }
+
+    // Coloca todos los robots en una ruta vacía
+    private static class PlaceRobots implements Bench.Trial {
+        private final int route;
+        private final int[] positions;
+        private SilkRoad road;
+
+        PlaceRobots(int route, int entities) {
+            this.route = route;
+            this.positions = distinctPositions(route, entities, 2);
+        }
+
+        public void setUp() { road = SilkRoad.headless(route); }
+
+        public long run() {
+            for (int p : positions) road.placeRobot(p);
+            return positions.length;
+        }
+    }
+
+    // Mueve cada robot un metro adelante y lo regresa
+    private static class ManualMoves implements Bench.Trial {
+        private final SilkRoad road;
+        private final int[] robots;
+
+        ManualMoves(int route, int entities) {
+            this.road = populated(route, entities);
+            this.robots = distinctPositions(route, entities, 2);
+        }
+
+        public long run() {
+            for (int p : robots) {
+                road.moveRobot(p, 1);
+                road.moveRobot(p + 1, -1);
+            }
+            return 2L * robots.length;
+        }
+    }
+
+    // Hace movimientos automáticos hasta agotar las tiendas provechosas
+    private static class AutomaticMoves implements Bench.Trial {
+        private final SilkRoad road;
+        private final int moves;
+
+        AutomaticMoves(int route, int entities) {
+            this.road = populated(route, entities);
+            this.moves = entities;
+        }
+
+        public void setUp() { road.reboot(); }
+
+        public long run() {
+            for (int i = 0; i < moves; i++) road.moveRobot();
+            return moves;
+        }
+    }
+
+    // Reinicia la ruta completa
+    private static class Reboots implements Bench.Trial {
+        private final SilkRoad road;
+
+        Reboots(int route, int entities) {
+            this.road = populated(route, entities);
+        }
+
+        public long run() {
+            for (int i = 0; i < 10; i++) road.reboot();
+            return 10;
+        }
+    }
+
+    // Quita y vuelve a colocar cada tienda y cada robot (las entidades vivas no cambian),
+    // reiniciando cada 100 reemplazos; la ruta sigue entre tandas, así que si las filas
+    // quitadas no se liberaran cada tanda costaría más que la anterior
+    private static class Churn implements Bench.Trial {
+        private final SilkRoad road;
+        private final int[] stores, robots;
+
+        Churn(int route, int entities) {
+            this.road = populated(route, entities);
+            this.stores = distinctPositions(route, entities, 1);
+            this.robots = distinctPositions(route, entities, 2);
+        }
+
+        public long run() {
+            for (int i = 0; i < stores.length; i++) {
+                road.removeStore(stores[i]);
+                road.placeStore(stores[i], 1 + stores[i] % 100);
+                road.removeRobot(robots[i]);
+                road.placeRobot(robots[i]);
+                if (i % 100 == 99) road.reboot();
+            }
+            return stores.length;
+        }
+    }
+
+    // Dispara la recolocación de una tienda autónoma sobre la ruta
+    private static class AutonomousPlacement implements Bench.Trial {
+        private final SilkRoad road;
+        private final AutonomousStore store;
+
+        AutonomousPlacement(int route) {
+            this.road = SilkRoad.headless(route);
+            this.store = new AutonomousStore(route / 2, 10);
+        }
+
+        public long run() {
+            for (int i = 0; i < 1000; i++) store.onPlaced(road);
+            Bench.blackhole += store.getPosition();
+            return 1000;
+        }
+    }
+
+    // Resuelve una entrada completa del concurso con días al azar de los tipos 1..types
+    // y posiciones en [0, spread)
+    private static class SolverDays implements Bench.Trial {
+        private final int[][] days;
+
+        SolverDays(int n, int types, int spread) {
+            Random random = new Random(4);
+            days = new int[n][];
+            for (int d = 0; d < n; d++) {
+                days[d] = new int[]{1 + random.nextInt(types), random.nextInt(spread), random.nextInt(1_000_000)};
+            }
+        }
+
+        public long run() {
+            long[] profits = SilkRoadSolver.solve(days);
+            Bench.blackhole += profits[profits.length - 1];
+            return days.length;
+        }
+    }
+
+    // Convierte posiciones consecutivas a coordenadas de la espiral
+    private static class Coordinates implements Bench.Trial {
+        private final int n;
+
+        Coordinates(int n) { this.n = n; }
+
+        public long run() {
+            long sink = 0;
+            for (int i = 0; i < n; i++) {
+                int[] rc = SpiralGeometry.locationToCoords(i);
+                sink += rc[0] ^ rc[1];
+            }
+            Bench.blackhole += sink;
+            return n;
+        }
+    }
+
+    // Convierte posiciones consecutivas a coordenadas empaquetadas (sin arreglos)
+    private static class PackedCoordinates implements Bench.Trial {
+        private final int n;
+
+        PackedCoordinates(int n) { this.n = n; }
+
+        public long run() {
+            long sink = 0;
+            for (int i = 0; i < n; i++) {
+                long rc = SpiralGeometry.packedCoords(i);
+                sink += SpiralGeometry.row(rc) ^ SpiralGeometry.col(rc);
+            }
+            Bench.blackhole += sink;
+            return n;
+        }
+    }
+
+    // Restaura el último paso de un diario largo (foto cercana más la cola de operaciones)
+    private static class JournalRestore implements Bench.Trial {
+        private final byte[] journal;
+        private final long steps;
+
+        JournalRestore(int steps, int interval) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            SilkRoad road = populated(100_000, 1_000);
+            RoadJournal recorder = new RoadJournal(bytes, interval);
+            road.setJournal(recorder);
+            int[] robots = distinctPositions(100_000, 1_000, 2);
+            for (int i = 0; i < steps; i++) {
+                if (i % 1_000 == 999) road.reboot();
+                else if (i % 2 == 0) road.moveRobot();
+                else road.moveRobot(robots[i % robots.length], 0);
+            }
+            recorder.close();
+            this.journal = bytes.toByteArray();
+            this.steps = steps - 1;
+        }
+
+        public long run() {
+            try {
+                Bench.blackhole += RoadJournal.restore(new ByteArrayInputStream(journal), steps).getProfit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package Benchmarks;
+
+import SilkRoads.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Clase ScenarioBenchmark: mide el rendimiento de ScenarioRunner al evaluar guiones
+ * independientes con 1, 2, 4, ... hilos, hasta los núcleos disponibles (al menos 4).
+ * Imprime los días por segundo de cada fila; los hilos por encima de los núcleos no
+ * pueden acelerar, así que en esas filas solo se ve el costo de sobresuscribir.
+ *
+ * Ejecutar: java -Djava.awt.headless=true Benchmarks.ScenarioBenchmark [guiones] [días] [hilos máx.]
+ */
+public class ScenarioBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        List<int[][]> scenarios = scenarios(count, days);
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(4, cores);
+
+        // Calentamiento
+        try (ScenarioRunner runner = new ScenarioRunner(cores)) {
+            runner.run(scenarios.subList(0, Math.min(16, count)));
+        }
+
+        System.out.printf("%8s %12s %14s %10s%n", "hilos", "tiempo (ms)", "días/s", "speedup");
+        double base = 0;
+        for (int threads = 1; threads <= maxThreads; threads = threads < maxThreads ? Math.min(threads * 2, maxThreads) : threads + 1) {
+            long t0 = System.nanoTime();
+            try (ScenarioRunner runner = new ScenarioRunner(threads)) {
+                for (long[] profits : runner.run(scenarios)) Bench.blackhole += profits[profits.length - 1];
+            }
+            double ms = (System.nanoTime() - t0) / 1e6;
+            if (threads == 1) base = ms;
+            System.out.printf("%8d %12.1f %14.0f %10.2f%n", threads, ms, (double) count * days / (ms / 1e3), base / ms);
+        }
+        System.out.println("(núcleos " + cores + ", blackhole " + Bench.blackhole + ")");
+    }
+
+    // Genera guiones al azar con semilla fija
+    private static List<int[][]> scenarios(int count, int days) {
+        Random random = new Random(9);
+        List<int[][]> list = new ArrayList<>(count);
+        for (int s = 0; s < count; s++) {
+            int[][] actions = new int[days][];
+            for (int d = 0; d < days; d++) {
+                actions[d] = new int[]{1 + random.nextInt(4), random.nextInt(100_000), random.nextInt(1_000)};
+            }
+            list.add(actions);
+        }
+        return list;
+    }
+}
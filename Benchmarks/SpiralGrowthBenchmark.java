@@ -0,0 +1,90 @@
+package Benchmarks;
+
+import SilkRoads.*;
+
+/**
+ * Clase SpiralGrowthBenchmark: mide el costo de hacer crecer una ruta de 1 a N
+ * celdas a través de SilkRoad.headless, colocando tiendas cada vez más lejos (cada
+ * colocación extiende la ruta y dispara routeExtended).
+ * Un suscriptor hace lo que la vista al crecer la ruta, calcular el rectángulo de la
+ * espiral: se compara el re-escaneo completo (comportamiento anterior) con SpiralExtent,
+ * y la ruta sola (sin suscriptor) da el piso del camino de colocación y crecimiento.
+ *
+ * Ejecutar: java -Djava.awt.headless=true Benchmarks.SpiralGrowthBenchmark [N]
+ */
+public class SpiralGrowthBenchmark {
+
+    // Más allá de este tamaño el re-escaneo completo (O(N²)) se omite
+    private static final int RESCAN_LIMIT = 20_000;
+
+    // Acumulador para que el JIT no descarte los cálculos medidos
+    private static long blackhole;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] sizes = {1_000, 10_000, RESCAN_LIMIT, n};
+
+        // Calentamiento
+        growRoad(Math.min(RESCAN_LIMIT, n), null);
+        growRoad(Math.min(RESCAN_LIMIT, n), new IncrementalExtent());
+        growRoad(Math.min(5_000, n), new RescanExtent());
+
+        System.out.printf("%12s %16s %16s %16s%n", "celdas", "solo ruta (ms)", "re-escaneo (ms)", "incremental (ms)");
+        for (int i = 0; i < sizes.length; i++) {
+            int size = sizes[i];
+            if (size > n || (size == n && i < sizes.length - 1)) continue;   // un N chico mide solo hasta N
+            String alone = time(size, null);
+            String rescan = size <= RESCAN_LIMIT ? time(size, new RescanExtent()) : "omitido";
+            String incremental = time(size, new IncrementalExtent());
+            System.out.printf("%12d %16s %16s %16s%n", size, alone, rescan, incremental);
+        }
+        System.out.println("(blackhole " + blackhole + ")");
+    }
+
+    // Milisegundos de hacer crecer una ruta hasta size celdas con el suscriptor dado
+    private static String time(int size, Extent extent) {
+        long t0 = System.nanoTime();
+        blackhole += growRoad(size, extent);
+        return String.format("%.1f", (System.nanoTime() - t0) / 1e6);
+    }
+
+    // Crece una ruta headless colocando una tienda en cada posición nueva, de la 1 a la n
+    private static long growRoad(int n, Extent extent) {
+        SilkRoad road = SilkRoad.headless(1);
+        if (extent != null) road.addListener(extent);
+        for (int location = 1; location < n; location++) road.placeStore(location, 1);
+        return road.getRouteSize() + (extent == null ? 0 : extent.sink);
+    }
+
+    // Suscriptor que calcula el rectángulo de la espiral cada vez que la ruta crece
+    private abstract static class Extent implements RoadListener {
+        long sink;
+    }
+
+    // Recalcula el rectángulo desde cero en cada crecimiento
+    private static class RescanExtent extends Extent {
+        @Override
+        public void routeExtended(int routeSize) {
+            int minR = 0, maxR = 0, minC = 0, maxC = 0;
+            for (int i = 0; i < routeSize; i++) {
+                int[] rc = SpiralGeometry.locationToCoords(i);
+                minR = Math.min(minR, rc[0]);
+                maxR = Math.max(maxR, rc[0]);
+                minC = Math.min(minC, rc[1]);
+                maxC = Math.max(maxC, rc[1]);
+            }
+            sink += (maxR - minR) + (maxC - minC);
+        }
+    }
+
+    // Extiende el rectángulo solo con las celdas nuevas (como RoadView)
+    private static class IncrementalExtent extends Extent {
+        private final SpiralExtent extent = new SpiralExtent();
+
+        @Override
+        public void routeExtended(int routeSize) {
+            extent.extendTo(routeSize);
+            sink += extent.getRows() + extent.getCols();
+        }
+    }
+}
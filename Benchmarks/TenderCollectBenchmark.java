@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import SilkRoads.*;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+
+/**
+ * Clase TenderCollectBenchmark: costo por recolección de un TenderRobot.
+ * Compara el camino anterior (buscar el campo tenges por reflexión y llamar a
+ * setAccessible en cada recolección) con StoreBase.withdraw.
+ *
+ * Ejecutar: java -Djava.awt.headless=true Benchmarks.TenderCollectBenchmark [recolecciones]
+ */
+public class TenderCollectBenchmark {
+
+    public static void main(String[] args) {
+        int collections = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Bench bench = new Bench(5, 10);
+        Bench.header();
+        bench.measure("reflexión (antes)", "recolecciones=" + collections, new Reflective(collections));
+        bench.measure("withdraw", "recolecciones=" + collections, new Withdraw(collections));
+        System.out.println("(blackhole " + Bench.blackhole + ")");
+    }
+
+    // Recolecta la mitad como lo hacía TenderRobot: reflexión en cada llamada (sobre la
+    // disposición actual: la tienda es una vista de una fila de StoreTable)
+    private static class Reflective implements Bench.Trial {
+        private final Store store = new Store(0, 100);
+        private final TenderRobot robot = new TenderRobot(0, 0);
+        private final int collections;
+
+        Reflective(int collections) {
+            this.collections = collections;
+        }
+
+        public long run() {
+            for (int i = 0; i < collections; i++) {
+                store.resupply();
+                int half = store.getTenges() / 2;
+                try {
+                    Field table = StoreBase.class.getDeclaredField("table");
+                    Field row = StoreBase.class.getDeclaredField("row");
+                    table.setAccessible(true);
+                    row.setAccessible(true);
+                    Object rows = table.get(store);
+                    Field tenges = rows.getClass().getDeclaredField("tenges");
+                    tenges.setAccessible(true);
+                    Array.setInt(tenges.get(rows), row.getInt(store), store.getTenges() - half);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+                robot.addEarnings(half);
+            }
+            Bench.blackhole += robot.getEarnings();
+            return collections;
+        }
+    }
+
+    // Recolecta la mitad con el retiro parcial de la tienda
+    private static class Withdraw implements Bench.Trial {
+        private final Store store = new Store(0, 100);
+        private final TenderRobot robot = new TenderRobot(0, 0);
+        private final int collections;
+
+        Withdraw(int collections) {
+            this.collections = collections;
+        }
+
+        public long run() {
+            for (int i = 0; i < collections; i++) {
+                store.resupply();
+                robot.collectFromStore(store);
+            }
+            Bench.blackhole += robot.getEarnings();
+            return collections;
+        }
+    }
+}
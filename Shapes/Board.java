@@ -1,12 +1,23 @@
 package Shapes;
 
-import java.util.Arrays;
+import java.util.BitSet;
 import SilkRoads.*;
 
 /**
  * Autor: Diego Fabian Andrade
  * Clase Board: representa un tablero simple con margen externo.
  * Cada celda se dibuja con separación visual y puede ocultarse con máscara.
+ *
+ * El tablero es virtual: el estado de cada celda vive en arreglos primitivos y solo
+ * se crean figuras (Cell) para las celdas visibles dentro de la ventana que cabe en
+ * el lienzo. La memoria gráfica depende del tamaño de la ventana, no de la ruta.
+ *
+ * El tablero crece sin reconstruirse: los arreglos tienen capacidad de sobra en los
+ * cuatro lados (se duplica al agotarse, como ArrayList) y agregar filas arriba o
+ * columnas a la izquierda solo corre un desplazamiento.
+ *
+ * La máscara es un BitSet y puede cambiarse celda por celda (setCellVisible), de modo
+ * que revelar una celda nueva toca solo esa celda.
  */
 public class Board {
 
@@ -15,36 +26,35 @@ public class Board {
     private static final int MARGIN_Y = 20;
 
     // --- Estructura del tablero ---
-    private final int rows;
-    private final int cols;
-    private final Cell[][] cells;
+    private int rows;
+    private int cols;
     private boolean visible = false;
 
-    // --- Máscara de visibilidad por celda (true = visible) ---
-    private boolean[][] visibleMask;
+    // --- Máscara de visibilidad (bit encendido = visible) sobre la capacidad reservada ---
+    // La celda (r, c) está en (r + offRow) * capCols + (c + offCol); fuera del tablero todo está apagado
+    private BitSet visibleMask;
+    private int capRows, capCols;
+    private int offRow, offCol;
 
-    // Constructor: crea un tablero de tamaño dado y lo inicializa con celdas blancas
+    // --- Ventana: celdas que caben en el lienzo y sus figuras (creadas al mostrarse) ---
+    private final int fitRows;
+    private final int fitCols;
+    private final Cell[] viewCells;   // índice r * fitCols + c
+
+    // Constructor: crea un tablero de tamaño dado con todas sus celdas visibles
     public Board(int rows, int cols) {
         this.rows = rows;
         this.cols = cols;
-        this.cells = new Cell[rows][cols];
-
-        int stepX = Cell.STEP_X;
-        int stepY = Cell.STEP_Y;
-
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                int x = MARGIN_X + c * stepX;
-                int y = MARGIN_Y + r * stepY;
-                cells[r][c] = new Cell("white", false, x, y);
-            }
-        }
 
         // Inicializa la máscara: todas las celdas visibles por defecto
-        visibleMask = new boolean[rows][cols];
-        for (int r = 0; r < rows; r++) {
-            Arrays.fill(visibleMask[r], true);
-        }
+        capRows = rows;
+        capCols = cols;
+        visibleMask = new BitSet(rows * cols);
+        visibleMask.set(0, rows * cols);
+
+        fitRows = fitting(Canvas.HEIGHT - MARGIN_Y, Cell.STEP_Y);
+        fitCols = fitting(Canvas.WIDTH - MARGIN_X, Cell.STEP_X);
+        viewCells = new Cell[fitRows * fitCols];
     }
 
     // Devuelve el número de filas
@@ -53,6 +63,17 @@ public class Board {
     // Devuelve el número de columnas
     public int getCols() { return cols; }
 
+    // Devuelve cuántas filas del tablero caben en el lienzo
+    public int getViewportRows() { return Math.min(rows, fitRows); }
+
+    // Devuelve cuántas columnas del tablero caben en el lienzo
+    public int getViewportCols() { return Math.min(cols, fitCols); }
+
+    // Indica si una celda del tablero cae dentro de la ventana dibujada en el lienzo
+    public boolean isInViewport(int row, int col) {
+        return row >= 0 && col >= 0 && row < getViewportRows() && col < getViewportCols();
+    }
+
     // Indica si el tablero está visible
     public boolean isVisible() { return visible; }
 
@@ -67,16 +88,44 @@ public class Board {
     public void makeInvisible() {
         if (!visible) return;
         visible = false;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                cells[r][c].makeInvisible();
+        Canvas.startFrame();
+        try {
+            for (Cell cell : viewCells) {
+                if (cell != null) cell.makeInvisible();
             }
+        } finally {
+            Canvas.endFrame();
         }
     }
 
-    // Devuelve la celda en la posición (row, col)
+    // Devuelve la figura de la celda (row, col); solo existen las de la ventana (ver isInViewport)
     public Cell getCell(int row, int col) {
-        return cells[row][col];
+        checkBounds(row, col);
+        if (row >= fitRows || col >= fitCols) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") outside viewport");
+        }
+        return viewCell(row, col);
+    }
+
+    // Indica si la celda (row, col) está marcada como visible
+    public boolean isCellVisible(int row, int col) {
+        checkBounds(row, col);
+        return visibleMask.get(maskIndex(row, col));
+    }
+
+    // Muestra u oculta una sola celda; si el tablero está visible solo se repinta esa celda
+    public void setCellVisible(int row, int col, boolean shown) {
+        checkBounds(row, col);
+        int index = maskIndex(row, col);
+        if (visibleMask.get(index) == shown) return;
+        visibleMask.set(index, shown);
+        if (!visible || row >= fitRows || col >= fitCols) return;
+        if (shown) {
+            viewCell(row, col).makeVisible();
+        } else {
+            Cell cell = viewCells[row * fitCols + col];
+            if (cell != null) cell.makeInvisible();
+        }
     }
 
     // Establece una nueva máscara de visibilidad y la aplica si el tablero está visible
@@ -84,23 +133,128 @@ public class Board {
         if (mask == null || mask.length != rows || mask[0].length != cols) {
             throw new IllegalArgumentException("Mask size must match board size");
         }
-        this.visibleMask = mask;
+        for (int r = 0; r < rows; r++) {
+            int base = maskIndex(r, 0);
+            for (int c = 0; c < cols; c++) visibleMask.set(base + c, mask[r][c]);
+        }
         if (visible) applyMaskToCells();
     }
 
-    // Aplica la máscara actual a todas las celdas
-    private void applyMaskToCells() {
+    // Agrega addTop filas arriba y addLeft columnas a la izquierda y deja el tablero de
+    // newRows x newCols; las celdas existentes se conservan y las nuevas nacen ocultas
+    public void grow(int addTop, int addLeft, int newRows, int newCols) {
+        if (addTop < 0 || addLeft < 0 || newRows < rows + addTop || newCols < cols + addLeft) {
+            throw new IllegalArgumentException("Board can only grow");
+        }
+        if (addTop == 0 && addLeft == 0 && newRows == rows && newCols == cols) return;
+
+        if (offRow < addTop || offCol < addLeft
+                || offRow - addTop + newRows > capRows || offCol - addLeft + newCols > capCols) {
+            reserve(addTop, addLeft, newRows, newCols);
+        } else {
+            offRow -= addTop;
+            offCol -= addLeft;
+        }
+        rows = newRows;
+        cols = newCols;
+
+        Canvas.startFrame();
+        try {
+            if (addTop > 0 || addLeft > 0) shiftViewCells(addTop, addLeft);
+            if (visible) applyMaskToCells();
+        } finally {
+            Canvas.endFrame();
+        }
+    }
+
+    // Duplica la capacidad (al menos hasta el tamaño pedido) dejando holgura a ambos lados
+    private void reserve(int addTop, int addLeft, int newRows, int newCols) {
+        int newCapRows = Math.max(newRows, capRows * 2);
+        int newCapCols = Math.max(newCols, capCols * 2);
+        int newOffRow = (newCapRows - newRows) / 2;
+        int newOffCol = (newCapCols - newCols) / 2;
+
+        BitSet mask = new BitSet(newCapRows * newCapCols);
         for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (visibleMask[r][c]) {
-                    cells[r][c].makeVisible();
+            int from = maskIndex(r, 0);
+            int to = (r + addTop + newOffRow) * newCapCols + addLeft + newOffCol;
+            for (int i = visibleMask.nextSetBit(from); i >= 0 && i < from + cols; i = visibleMask.nextSetBit(i + 1)) {
+                mask.set(to + i - from);
+            }
+        }
+        visibleMask = mask;
+        capRows = newCapRows;
+        capCols = newCapCols;
+        offRow = newOffRow;
+        offCol = newOffCol;
+    }
+
+    // Corre las figuras de la ventana junto con sus celdas; las que salen se ocultan
+    private void shiftViewCells(int addTop, int addLeft) {
+        // De atrás hacia adelante: cada destino ya fue vaciado antes de ocuparse
+        for (int r = fitRows - 1; r >= 0; r--) {
+            for (int c = fitCols - 1; c >= 0; c--) {
+                Cell cell = viewCells[r * fitCols + c];
+                if (cell == null) continue;
+                viewCells[r * fitCols + c] = null;
+                int nr = r + addTop, nc = c + addLeft;
+                if (nr < fitRows && nc < fitCols) {
+                    cell.moveBy(addLeft * Cell.STEP_X, addTop * Cell.STEP_Y);
+                    viewCells[nr * fitCols + nc] = cell;
                 } else {
-                    cells[r][c].makeInvisible();
+                    cell.makeInvisible();
                 }
             }
         }
     }
 
+    // Aplica la máscara actual a las celdas de la ventana
+    private void applyMaskToCells() {
+        int viewRows = getViewportRows();
+        int viewCols = getViewportCols();
+        Canvas.startFrame();
+        try {
+            for (int r = 0; r < viewRows; r++) {
+                for (int c = 0; c < viewCols; c++) {
+                    if (visibleMask.get(maskIndex(r, c))) {
+                        viewCell(r, c).makeVisible();
+                    } else {
+                        Cell cell = viewCells[r * fitCols + c];
+                        if (cell != null) cell.makeInvisible();
+                    }
+                }
+            }
+        } finally {
+            Canvas.endFrame();
+        }
+    }
+
+    // Devuelve la figura de una celda de la ventana, creándola la primera vez
+    private Cell viewCell(int row, int col) {
+        int slot = row * fitCols + col;
+        if (viewCells[slot] == null) {
+            viewCells[slot] = new Cell("white", false, getPixelXForCol(col), getPixelYForRow(row));
+        }
+        return viewCells[slot];
+    }
+
+    // Falla si (row, col) no es una celda del tablero
+    private void checkBounds(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") outside board");
+        }
+    }
+
+    // Índice de la celda (row, col) en la máscara
+    private int maskIndex(int row, int col) {
+        return (row + offRow) * capCols + (col + offCol);
+    }
+
+    // Cuántos pasos de tamaño step entran (al menos parcialmente) en length píxeles
+    private static int fitting(int length, int step) {
+        return Math.max(1, (length + step - 1) / step);
+    }
+
     // --- Helpers públicos para obtener coordenadas en píxeles ---
 
     // Coordenada X de la esquina izquierda de una columna
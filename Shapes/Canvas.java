@@ -4,84 +4,137 @@ import javax.swing.*;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.GraphicsEnvironment;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Shape;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 public class Canvas {
 
     private static Canvas canvasSingleton;
 
+    // Tamaño en píxeles del área de dibujo
+    public static final int WIDTH = 2000;
+    public static final int HEIGHT = 2000;
+
     public static Canvas getCanvas() {
         if (canvasSingleton == null) {
-            canvasSingleton = new Canvas("BlueJ Shapes Demo", 2000, 2000, Color.white);
+            canvasSingleton = new Canvas("BlueJ Shapes Demo", WIDTH, HEIGHT, Color.white);
         }
         canvasSingleton.setVisible(true);
         return canvasSingleton;
     }
 
     // --- Instance fields ---
-    private JFrame frame;
+    private JFrame frame;                   // null sin pantalla: se dibuja solo en la imagen
+    private int width, height;
     private CanvasPane canvas;
     private Graphics2D graphic;
     private Color backgroundColour;
     private Image canvasImage;
-    private List<Object> objects;
-    private HashMap<Object, ShapeDescription> shapes;
+    // Figuras en orden de pintado (la última dibujada queda encima); mover al tope y borrar son O(1)
+    private LinkedHashMap<Object, ShapeDescription> shapes;
     private List<TextDescription> texts;  // reemplaza los labels
 
+    // --- Lotes y región sucia ---
+    private int batchDepth;                 // > 0 mientras hay un lote abierto
+    private java.awt.Rectangle dirty;       // unión de las áreas cambiadas sin repintar
+    private boolean dirtyAll;               // hay que repintar toda la imagen
+    private boolean fullRedraw;             // fuerza el repintado completo (comparaciones)
+
     private Canvas(String title, int width, int height, Color bgColour) {
-        frame = new JFrame();
+        this.width = width;
+        this.height = height;
         canvas = new CanvasPane();
-        frame.setContentPane(canvas);
-        frame.setTitle(title);
         canvas.setPreferredSize(new Dimension(width, height));
         backgroundColour = bgColour;
-        frame.pack();
-        objects = new ArrayList<>();
-        shapes = new HashMap<>();
+        if (!GraphicsEnvironment.isHeadless()) {
+            frame = new JFrame();
+            frame.setContentPane(canvas);
+            frame.setTitle(title);
+            frame.pack();
+        }
+        shapes = new LinkedHashMap<>();
         texts = new ArrayList<>();
     }
 
     public void setVisible(boolean visible) {
         if (graphic == null) {
-            Dimension size = canvas.getSize();
-            canvasImage = canvas.createImage(size.width, size.height);
+            // Sin pantalla (benchmarks, pruebas) la imagen es un BufferedImage del tamaño pedido
+            Dimension size = frame == null ? new Dimension(width, height) : canvas.getSize();
+            canvasImage = frame == null
+                ? new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB)
+                : canvas.createImage(size.width, size.height);
             graphic = (Graphics2D) canvasImage.getGraphics();
             graphic.setColor(backgroundColour);
             graphic.fillRect(0, 0, size.width, size.height);
             graphic.setColor(Color.black);
         }
-        frame.setVisible(visible);
+        if (frame != null) frame.setVisible(visible);
     }
 
     // ------------------------- Dibujo de figuras -------------------------
+    // Las operaciones que cambian figuras, textos o lotes son synchronized: el hilo de la
+    // simulación y el temporizador de parpadeo (hilo de eventos de Swing) dibujan a la vez
 
-    public void draw(Object referenceObject, String color, Shape shape) {
-        objects.remove(referenceObject);
-        objects.add(referenceObject);
+    public synchronized void draw(Object referenceObject, String color, Shape shape) {
+        ShapeDescription old = shapes.remove(referenceObject);   // al volver a insertarla pasa al tope
+        if (old != null) markDirty(old.shape);
         shapes.put(referenceObject, new ShapeDescription(shape, color));
-        redraw();
+        markDirty(shape);
+        flushIfIdle();
     }
 
-    public void erase(Object referenceObject) {
-        objects.remove(referenceObject);
-        shapes.remove(referenceObject);
-        redraw();
+    public synchronized void erase(Object referenceObject) {
+        ShapeDescription old = shapes.remove(referenceObject);
+        if (old == null) return;
+        markDirty(old.shape);
+        flushIfIdle();
+    }
+
+    // ------------------------- Lotes -------------------------
+
+    // Abre un lote: los cambios se acumulan y se pintan juntos al cerrarlo
+    public synchronized void beginBatch() {
+        batchDepth++;
+    }
+
+    // Cierra un lote; al cerrar el más externo repinta solo la región cambiada
+    public synchronized void endBatch() {
+        if (batchDepth == 0) return;
+        if (--batchDepth == 0) flush();
+    }
+
+    // Abre un lote en el lienzo si ya existe (no crea ni muestra la ventana)
+    public static void startFrame() {
+        if (canvasSingleton != null) canvasSingleton.beginBatch();
+    }
+
+    // Cierra el lote abierto con startFrame
+    public static void endFrame() {
+        if (canvasSingleton != null) canvasSingleton.endBatch();
+    }
+
+    // Si se activa, cada repintado limpia y redibuja toda la imagen (comportamiento anterior)
+    public synchronized void setFullRedraw(boolean fullRedraw) {
+        this.fullRedraw = fullRedraw;
     }
 
     // ------------------------- Dibujo de texto -------------------------
 
-    public void drawText(String text, int x, int y, String color) {
+    public synchronized void drawText(String text, int x, int y, String color) {
         texts.add(new TextDescription(text, x, y, color));
-        redraw();
+        dirtyAll = true;
+        flushIfIdle();
     }
 
-    public void eraseAllText() {
+    public synchronized void eraseAllText() {
         texts.clear();
-        redraw();
+        dirtyAll = true;
+        flushIfIdle();
     }
 
     // ------------------------- Colores y utilidades -------------------------
@@ -100,6 +153,7 @@ public class Canvas {
     }
 
     public void wait(int milliseconds) {
+        if (batchDepth > 0) return;   // dentro de un lote no se pausa por figura
         try {
             Thread.sleep(milliseconds);
         } catch (Exception ignored) {}
@@ -107,10 +161,34 @@ public class Canvas {
 
     // ------------------------- Redibujar -------------------------
 
+    // Agrega el área de una figura (con su borde) a la región sucia
+    private void markDirty(Shape shape) {
+        java.awt.Rectangle bounds = shape.getBounds();
+        bounds.grow(2, 2);
+        if (dirty == null) dirty = bounds;
+        else dirty.add(bounds);
+    }
+
+    // Repinta enseguida si no hay un lote abierto
+    private void flushIfIdle() {
+        if (batchDepth == 0) flush();
+    }
+
+    // Repinta la región sucia acumulada
+    private void flush() {
+        if (dirtyAll || fullRedraw) {
+            redraw();
+        } else if (dirty != null) {
+            redraw(dirty);
+        }
+        dirty = null;
+        dirtyAll = false;
+    }
+
     private void redraw() {
         erase();
-        for (Object ref : objects) {
-            shapes.get(ref).draw(graphic);
+        for (ShapeDescription description : shapes.values()) {
+            description.draw(graphic);
         }
 
         // Dibuja los textos
@@ -122,11 +200,33 @@ public class Canvas {
         canvas.repaint();
     }
 
+    // Limpia y redibuja solo un área, respetando el orden de las figuras
+    private void redraw(java.awt.Rectangle area) {
+        Shape oldClip = graphic.getClip();
+        Color original = graphic.getColor();
+        graphic.setClip(area);
+        graphic.setColor(backgroundColour);
+        graphic.fill(area);
+        graphic.setColor(original);
+
+        for (ShapeDescription description : shapes.values()) {
+            java.awt.Rectangle bounds = description.shape.getBounds();
+            bounds.grow(2, 2);
+            if (bounds.intersects(area)) description.draw(graphic);
+        }
+        for (TextDescription text : texts) {
+            setForegroundColor(text.color);
+            graphic.drawString(text.text, text.x, text.y);
+        }
+
+        graphic.setClip(oldClip);
+        canvas.repaint(area.x, area.y, area.width, area.height);
+    }
+
     private void erase() {
         Color original = graphic.getColor();
         graphic.setColor(backgroundColour);
-        Dimension size = canvas.getSize();
-        graphic.fill(new java.awt.Rectangle(0, 0, size.width, size.height));
+        graphic.fill(new java.awt.Rectangle(0, 0, canvasImage.getWidth(null), canvasImage.getHeight(null)));
         graphic.setColor(original);
     }
 
@@ -0,0 +1,112 @@
+package SilkRoads;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Clase ActionReader: lee acciones del concurso una por línea ("tipo posición [cantidad]")
+ * desde un InputStream, sin materializar la entrada completa.
+ * El tokenizador trabaja sobre un búfer de bytes propio y no crea objetos por acción:
+ * cada llamada a next() deja la acción en getType(), getPosition() y getAmount().
+ * Las líneas vacías se ignoran y la cantidad que falta vale 0. Un número pegado a un
+ * carácter que no es espacio ni salto de línea es un error (IOException), no el fin.
+ */
+public class ActionReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int length;
+    private int index;
+
+    // Acción actual
+    private int type;
+    private int position;
+    private int amount;
+    private long line;
+
+    // Constructor: lee del flujo dado (no lo cierra)
+    public ActionReader(InputStream in) {
+        this.in = in;
+    }
+
+    // Avanza a la siguiente acción; devuelve false al final del flujo
+    public boolean next() throws IOException {
+        int c = skipBlank(true);
+        if (c < 0) return false;
+        line++;
+        type = readInt(c);
+        c = skipBlank(false);
+        if (c < 0 || c == '\n') throw new IOException("Missing position on action " + line);
+        position = readInt(c);
+        c = skipBlank(false);
+        if (c < 0 || c == '\n') {
+            amount = 0;
+        } else {
+            amount = readInt(c);
+            skipLine();   // ignora lo que sobre en la línea
+        }
+        return true;
+    }
+
+    // Tipo de la acción actual (1 = robot, 2 = tienda, 3 = tender, 4 = neverback)
+    public int getType() { return type; }
+
+    // Posición de la acción actual
+    public int getPosition() { return position; }
+
+    // Cantidad de la acción actual (0 si la línea no la trae)
+    public int getAmount() { return amount; }
+
+    // --- Tokenizador ---
+
+    // Lee el siguiente byte (0..255) o -1 al final
+    private int read() throws IOException {
+        if (index == length) {
+            length = in.read(buffer, 0, BUFFER_SIZE);
+            index = 0;
+            if (length <= 0) {
+                length = 0;
+                return -1;
+            }
+        }
+        return buffer[index++] & 0xFF;   // sin extender el signo: 0x80..0xFF no son el final
+    }
+
+    // Salta espacios (y saltos de línea si se pide); devuelve el primer byte útil
+    private int skipBlank(boolean acrossLines) throws IOException {
+        int c = read();
+        while (c == ' ' || c == '\t' || c == '\r' || (acrossLines && c == '\n')) c = read();
+        return c;
+    }
+
+    // Descarta el resto de la línea actual
+    private void skipLine() throws IOException {
+        int c = read();
+        while (c >= 0 && c != '\n') c = read();
+    }
+
+    // Lee un entero que empieza en el byte c; deja consumido el separador siguiente
+    private int readInt(int c) throws IOException {
+        boolean negative = c == '-';
+        if (negative) c = read();
+        if (c < '0' || c > '9') throw unexpected(c);
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) throw new IOException("Number out of range on action " + line);
+            c = read();
+        }
+        if (value > Integer.MAX_VALUE && !negative) throw new IOException("Number out of range on action " + line);
+        if (c >= 0 && c != ' ' && c != '\t' && c != '\r' && c != '\n') throw unexpected(c);
+        if (c == '\n') index--;   // el salto de línea lo decide quien llama
+        return (int) (negative ? -value : value);
+    }
+
+    // Error por un byte que no cabe en la acción actual
+    private IOException unexpected(int c) {
+        if (c < 0) return new IOException("Expected a number on action " + line);
+        return new IOException(String.format("Unexpected character 0x%02X on action %d", c, line));
+    }
+}
@@ -15,31 +15,31 @@ public class AutonomousStore extends StoreBase {
     @Override
     public void onPlaced(SilkRoad road) {
         if (road == null) return;
+        relocateUsingFreeMap(road.getRouteSize(), road);
+    }
 
-        int routeSize = road.getRouteSize();
-        boolean[] isFree = new boolean[routeSize];
-
-        for (int i = 0; i < routeSize; i++) {
-            isFree[i] = road.isFreeForStore(i);
+    // Recolocación con el mapa de posiciones ocupadas del tablero: O(1) con nextFreeForStore
+    public void relocateUsingFreeMap(int routeSize, SilkRoad road) {
+        int free = road.nextFreeForStore(Math.max(0, getPosition()));
+        if (free < Math.min(getPosition() + 5, routeSize)) {
+            setPosition(free);
         }
-
-        relocateUsingFreeMap(routeSize, isFree);
     }
 
     // Recolocación auxiliar: busca la primera posición libre en [position .. position+4]
     public void relocateUsingFreeMap(int routeSize, boolean[] isFree) {
-        int limit = Math.min(this.position + 5, routeSize);
-        int newPos = this.position;
+        int limit = Math.min(getPosition() + 5, routeSize);
+        int newPos = getPosition();
 
-        for (int i = this.position; i < limit; i++) {
+        for (int i = getPosition(); i < limit; i++) {
             if (i >= 0 && i < isFree.length && isFree[i]) {
                 newPos = i;
                 break;
             }
         }
 
-        if (newPos != this.position) {
-            this.position = newPos;
+        if (newPos != getPosition()) {
+            setPosition(newPos);
         }
     }
 }
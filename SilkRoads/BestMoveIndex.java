@@ -0,0 +1,861 @@
+package SilkRoads;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * Clase BestMoveIndex: responde en O(log n) cuál par (robot, tienda) da la mayor
+ * ganancia recogido - |posRobot - posTienda| para el movimiento automático.
+ *
+ * La ganancia es separable: para tiendas a la derecha vale (recogido - posTienda) + posRobot
+ * y para tiendas a la izquierda (recogido + posTienda) - posRobot. Un árbol de segmentos
+ * disperso sobre las posiciones guarda en cada nodo los máximos de cada término y el
+ * mejor par interno, combinando los pares que cruzan entre hijo izquierdo y derecho.
+ *
+ * Las reglas de cada tipo se aplican dentro del árbol y no filtrando después: cada nodo
+ * lleva los términos por separado para cada clase de robot (NORMAL recoge todo, TENDER
+ * la mitad y NEVER_BACK solo cruza hacia tiendas a su derecha), así un par prohibido
+ * nunca se combina. Mientras todos los robots son NORMAL cada nodo guarda solo sus
+ * términos (una línea de caché) y se combina sin recorrer clases; el primer robot de otra
+ * clase ensancha los nodos con los términos por clase y de mitad. Las tiendas que solo atienden a robots más ricos (fighter) no entran
+ * en los términos: se recorren de mayor a menor dinero, solo las que algún robot puede
+ * cobrar y que todavía pueden superar al mejor par, buscando para cada una el robot
+ * elegible más cercano con el máximo de ganancias por subárbol (O(log n) por tienda).
+ *
+ * Los empates se rompen como el recorrido original robots x tiendas: primero el robot
+ * colocado antes y luego la tienda colocada antes (los ids crecen con cada alta).
+ *
+ * Si las posiciones se conocen de antemano (forPositions) se comprimen a su rango:
+ * el árbol baja solo log2(posiciones distintas) niveles en lugar de 32 y se guarda
+ * completo en orden de montículo (hijos de i en 2i y 2i + 1), sin punteros.
+ */
+public class BestMoveIndex {
+
+    // Clases de robot: cuánto recogen y hacia dónde pueden ir
+    public static final int NORMAL = 0, TENDER = 1, NEVER_BACK = 2;
+    private static final int KINDS = 3;
+
+    private static final long NONE = Long.MIN_VALUE / 4;   // valor de subárbol vacío
+    private static final int LEVELS = 32;                  // bits de una posición int
+    private static final long NO_IDS = -1L;                // par de ids (-1, -1)
+
+    // Con posiciones comprimidas: tabla hash posición -> rango (rankOf guarda rango + 1, 0 = libre)
+    private final boolean compressed;
+    private int[] rankPositions, rankOf;
+    private int[] positionOfRank;
+    private int rankMask;
+    private int lastPosition, lastKey = -1;   // última posición encontrada (getStoreAt y addStore buscan la misma)
+    private final int levels;
+
+    // --- Entidades por id (los ids nunca se reutilizan) ---
+    private int[] robotPos = new int[16];
+    private byte[] robotKind = new byte[16];
+    private long[] robotEarnings = new long[16];
+    private boolean[] robotActive = new boolean[16];
+    private int[] robotSlot = new int[16];   // índice del robot dentro del montículo de su posición
+    private int[] robotLeaf = new int[16];   // hoja de su posición
+    private int robotCount;
+    private int[] storePos = new int[16];
+    private int[] storeLeaf = new int[16];
+    private int[] storeTenges = new int[16];
+    private boolean[] storeFighter = new boolean[16];
+    private boolean[] storeActive = new boolean[16];
+    private int storeCount;
+
+    // Robots por clase y hoja (varios robots pueden compartir celda): robotHeaps[clase][hoja]
+    // guarda exactamente los robots activos que están ahí, el menor id en la cima. Se indexa
+    // por nodo como leafStore, sin buscar la posición; la fila de una clase se crea con su
+    // primer robot y el montículo de una hoja se conserva vacío para el próximo que llegue
+    private final RobotHeap[][] robotHeaps = new RobotHeap[KINDS][];
+
+    // Tiendas fighter con dinero, ordenadas por (tenges, id) empaquetados
+    private final TreeSet<Long> fighters = new TreeSet<>();
+
+    // --- Nodos del árbol (0 = raíz) ---
+    // Los agregados de cada nodo van juntos en data (stride longs): máximos de robots por
+    // clase, términos de tienda (todo y mitad) y el mejor par, más los ids empaquetados de
+    // a dos por long (alto | bajo). Los de robots NORMAL van primero (NARROW = una línea de
+    // caché); los de TENDER, NEVER_BACK y mitad solo existen con stride WIDE
+    private static final int NARROW = 8, WIDE = 16;
+    private static final int NORMAL_MAX_P = 0, NORMAL_MIN_P = 1, NORMAL_P_IDS = 5;
+    private static final int[] MAX_P = {NORMAL_MAX_P, 8, 10}, MIN_P = {NORMAL_MIN_P, 9, -1};
+    private static final int[] P_IDS = {NORMAL_P_IDS, 13, 14};
+    private static final int A_ALL = 2, B_ALL = 3, BEST = 4, ALL_IDS = 6, BEST_IDS = 7;
+    private static final int A_HALF = 11, B_HALF = 12, HALF_IDS = 15;
+    private static final int[] A = {A_ALL, A_HALF, A_ALL}, B = {B_ALL, B_HALF, B_ALL};
+    private static final int[] AB_IDS = {ALL_IDS, HALF_IDS, ALL_IDS};
+    private static final long[] EMPTY = new long[WIDE];   // nodo vacío: valores NONE e ids NO_IDS
+    static {
+        Arrays.fill(EMPTY, NONE);
+        for (int i : new int[]{P_IDS[0], ALL_IDS, BEST_IDS, P_IDS[1], P_IDS[2], HALF_IDS}) EMPTY[i] = NO_IDS;
+    }
+    private int stride = NARROW;
+    private int kinds = 1;                   // clases con términos en los nodos (1 o KINDS)
+    private int[] left, right, leafStore;   // left/right solo en el árbol disperso
+    private long[] data;
+    private long[] earnings;                 // máximo de ganancias por nodo y clase (solo con fighters)
+    private int nodes;
+    private final int root;                  // 0 en el árbol disperso, 1 en el montículo
+    private final int[] path;
+    private final long[] before = new long[WIDE + KINDS];   // copia de un nodo antes de recalcularlo
+
+    // Mejor par calculado (se recalcula tras cualquier cambio)
+    private boolean stale = true;
+    private long bestGain;
+    private int bestRobot, bestStore;
+
+    // Constructor: crea un índice vacío que acepta cualquier posición
+    public BestMoveIndex() {
+        this(false, LEVELS, 64);
+    }
+
+    // Crea un índice que solo aceptará las posiciones dadas (más rápido y compacto)
+    public static BestMoveIndex forPositions(int[] positions) {
+        int[] sorted = positions.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[distinct++] = sorted[i];
+        }
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, distinct - 1));
+        BestMoveIndex index = new BestMoveIndex(true, levels, 2 << levels);
+
+        int capacity = Integer.highestOneBit(Math.max(2, distinct) * 2 - 1) * 2;
+        index.rankPositions = new int[capacity];
+        index.rankOf = new int[capacity];
+        index.rankMask = capacity - 1;
+        index.positionOfRank = Arrays.copyOf(sorted, distinct);
+        for (int rank = 0; rank < distinct; rank++) {
+            int i = index.rankSlot(sorted[rank]);
+            while (index.rankOf[i] != 0) i = (i + 1) & index.rankMask;
+            index.rankPositions[i] = sorted[rank];
+            index.rankOf[i] = rank + 1;
+        }
+        return index;
+    }
+
+    // Constructor interno: define el dominio de posiciones y la capacidad inicial
+    private BestMoveIndex(boolean compressed, int levels, int capacity) {
+        this.compressed = compressed;
+        this.levels = levels;
+        this.path = new int[levels + 1];
+        if (!compressed) {
+            root = 0;
+            allocate(capacity);
+            nodes = 1;
+            leafStore[0] = -1;
+            clearNode(0);
+        } else {
+            root = 1;
+            leafStore = new int[capacity];
+            data = new long[capacity * stride];
+            Arrays.fill(leafStore, -1);
+            for (int node = 0; node < capacity; node++) clearNode(node);
+            nodes = capacity;
+        }
+    }
+
+    // Registra un robot normal en la posición dada y devuelve su id
+    public int addRobot(int position) {
+        return addRobot(position, NORMAL);
+    }
+
+    // Registra un robot de la clase dada (NORMAL, TENDER o NEVER_BACK) y devuelve su id
+    public int addRobot(int position, int kind) {
+        if (kind < 0 || kind >= KINDS) throw new IllegalArgumentException("Unknown robot kind " + kind);
+        if (kind != NORMAL && stride == NARROW) widen();
+        int id = robotCount++;
+        if (id == robotPos.length) {
+            robotPos = Arrays.copyOf(robotPos, id * 2);
+            robotKind = Arrays.copyOf(robotKind, id * 2);
+            robotEarnings = Arrays.copyOf(robotEarnings, id * 2);
+            robotActive = Arrays.copyOf(robotActive, id * 2);
+            robotSlot = Arrays.copyOf(robotSlot, id * 2);
+            robotLeaf = Arrays.copyOf(robotLeaf, id * 2);
+        }
+        int leaf = descend(position);
+        robotPos[id] = position;
+        robotKind[id] = (byte) kind;
+        robotActive[id] = true;
+        robotLeaf[id] = leaf;
+        robotsAt(leaf, kind).push(id);
+        recomputePath(position);
+        return id;
+    }
+
+    // Mueve un robot registrado a otra posición
+    public void moveRobot(int id, int position) {
+        int old = robotPos[id], oldLeaf = robotLeaf[id];
+        if (!robotActive[id] || old == position) return;
+        relocate(id, descend(position), position);
+        recomputePath(position);
+        update(oldLeaf, old);
+    }
+
+    // Lleva un robot a la posición de una tienda y deja en ella tenges (el movimiento
+    // automático de un día): la hoja de la tienda se recalcula una sola vez
+    public void collect(int robot, int store, int tenges) {
+        if (!robotActive[robot] || !storeActive[store] || storeFighter[store]) {
+            moveRobot(robot, storePos[store]);
+            setStoreTenges(store, tenges);
+            return;
+        }
+        int old = robotPos[robot], oldLeaf = robotLeaf[robot];
+        storeTenges[store] = tenges;
+        if (oldLeaf != storeLeaf[store]) {
+            relocate(robot, storeLeaf[store], storePos[store]);
+            update(oldLeaf, old);
+        }
+        update(storeLeaf[store], storePos[store]);
+    }
+
+    // Actualiza las ganancias acumuladas de un robot (deciden qué tiendas fighter lo atienden)
+    public void setRobotEarnings(int id, long earnings) {
+        if (robotEarnings[id] == earnings) return;
+        robotEarnings[id] = earnings;
+        if (robotActive[id] && this.earnings != null) update(robotLeaf[id], robotPos[id]);
+    }
+
+    // Quita un robot del índice
+    public void removeRobot(int id) {
+        if (!robotActive[id]) return;
+        robotActive[id] = false;
+        robotHeaps[robotKind[id]][robotLeaf[id]].remove(id);
+        update(robotLeaf[id], robotPos[id]);
+    }
+
+    // Registra una tienda normal en la posición dada y devuelve su id
+    public int addStore(int position, int tenges) {
+        return addStore(position, tenges, false);
+    }
+
+    // Registra una tienda; si fighter, solo atiende a robots con más ganancias que su dinero
+    public int addStore(int position, int tenges, boolean fighter) {
+        int id = storeCount++;
+        if (id == storePos.length) {
+            storePos = Arrays.copyOf(storePos, id * 2);
+            storeTenges = Arrays.copyOf(storeTenges, id * 2);
+            storeFighter = Arrays.copyOf(storeFighter, id * 2);
+            storeActive = Arrays.copyOf(storeActive, id * 2);
+            storeLeaf = Arrays.copyOf(storeLeaf, id * 2);
+        }
+        storePos[id] = position;
+        storeTenges[id] = tenges;
+        storeFighter[id] = fighter;
+        storeActive[id] = true;
+        int leaf = descend(position);
+        if (leafStore[leaf] >= 0) {
+            throw new IllegalArgumentException("Position " + position + " already has a store");
+        }
+        leafStore[leaf] = id;
+        storeLeaf[id] = leaf;
+        if (fighter) {
+            if (earnings == null) trackEarnings();
+            if (tenges > 0) fighters.add(pack(tenges, id));
+            stale = true;
+        } else {
+            recomputePath(position);
+        }
+        return id;
+    }
+
+    // Actualiza el dinero disponible de una tienda (0 = vacía, no participa)
+    public void setStoreTenges(int id, int tenges) {
+        if (!storeActive[id] || storeTenges[id] == tenges) return;
+        if (storeFighter[id]) {
+            if (storeTenges[id] > 0) fighters.remove(pack(storeTenges[id], id));
+            if (tenges > 0) fighters.add(pack(tenges, id));
+            storeTenges[id] = tenges;
+            stale = true;
+            return;
+        }
+        storeTenges[id] = tenges;
+        update(storeLeaf[id], storePos[id]);
+    }
+
+    // Quita una tienda del índice
+    public void removeStore(int id) {
+        if (!storeActive[id]) return;
+        storeActive[id] = false;
+        leafStore[storeLeaf[id]] = -1;
+        if (storeFighter[id]) {
+            if (storeTenges[id] > 0) fighters.remove(pack(storeTenges[id], id));
+            stale = true;
+        } else {
+            update(storeLeaf[id], storePos[id]);
+        }
+    }
+
+    // Id de la tienda activa en la posición, o -1 si no hay (no crea nodos)
+    public int getStoreAt(int position) {
+        int leaf = findLeaf(position);
+        return leaf < 0 ? -1 : leafStore[leaf];
+    }
+
+    // Indica si existe algún par permitido robot-tienda con tienda no vacía
+    public boolean hasCandidate() {
+        refresh();
+        return bestRobot >= 0;
+    }
+
+    // Ganancia del mejor par (solo válida si hasCandidate())
+    public long getBestGain() {
+        refresh();
+        return bestGain;
+    }
+
+    // Id del robot del mejor par, o -1 si no hay
+    public int getBestRobot() {
+        refresh();
+        return bestRobot;
+    }
+
+    // Id de la tienda del mejor par, o -1 si no hay
+    public int getBestStore() {
+        refresh();
+        return bestStore;
+    }
+
+    // Posición actual de un robot registrado
+    public int getRobotPosition(int id) { return robotPos[id]; }
+
+    // Clase de un robot registrado (NORMAL, TENDER o NEVER_BACK)
+    public int getRobotKind(int id) { return robotKind[id]; }
+
+    // Posición de una tienda registrada
+    public int getStorePosition(int id) { return storePos[id]; }
+
+    // Dinero actual de una tienda registrada
+    public int getStoreTenges(int id) { return storeTenges[id]; }
+
+    // Cantidad de robots activos que el índice guarda en la posición (de todas las clases)
+    public int getRobotCountAt(int position) {
+        int leaf = findLeaf(position), count = 0;
+        for (int kind = 0; kind < KINDS && leaf >= 0; kind++) {
+            RobotHeap heap = heapAt(leaf, kind);
+            if (heap != null) count += heap.size;
+        }
+        return count;
+    }
+
+    // --- Internos ---
+
+    // Devuelve los robots de una clase en una hoja (creando su montículo si no existía)
+    private RobotHeap robotsAt(int leaf, int kind) {
+        if (robotHeaps[kind] == null) robotHeaps[kind] = new RobotHeap[leafStore.length];
+        RobotHeap heap = robotHeaps[kind][leaf];
+        if (heap == null) heap = robotHeaps[kind][leaf] = new RobotHeap();
+        return heap;
+    }
+
+    // Montículo de una clase en una hoja, o null si nunca tuvo robots
+    private RobotHeap heapAt(int leaf, int kind) {
+        return robotHeaps[kind] == null ? null : robotHeaps[kind][leaf];
+    }
+
+    // Pasa un robot activo del montículo de su hoja al de otra
+    private void relocate(int id, int leaf, int position) {
+        int kind = robotKind[id];
+        robotHeaps[kind][robotLeaf[id]].remove(id);
+        robotPos[id] = position;
+        robotLeaf[id] = leaf;
+        robotsAt(leaf, kind).push(id);
+    }
+
+    // Menor id de robot activo del montículo, o -1
+    private int firstRobotAt(RobotHeap heap) {
+        return heap == null || heap.size == 0 ? -1 : heap.ids[0];
+    }
+
+    // Menor id de robot de la clase en la posición con ganancias mayores a threshold, o -1
+    private int firstRicherAt(int position, int kind, long threshold) {
+        int leaf = findLeaf(position);
+        RobotHeap heap = leaf < 0 ? null : heapAt(leaf, kind);
+        if (heap == null) return -1;
+        int first = -1;
+        for (int i = 0; i < heap.size; i++) {
+            int id = heap.ids[i];
+            if (robotEarnings[id] > threshold && (first < 0 || id < first)) first = id;
+        }
+        return first;
+    }
+
+    // Mayores ganancias entre los robots de una clase en la posición, o NONE
+    private long richestAt(RobotHeap heap) {
+        long richest = NONE;
+        if (heap == null) return richest;
+        for (int i = 0; i < heap.size; i++) richest = Math.max(richest, robotEarnings[heap.ids[i]]);
+        return richest;
+    }
+
+    // Empieza a llevar el máximo de ganancias por subárbol (al llegar la primera fighter)
+    private void trackEarnings() {
+        earnings = new long[leafStore.length * KINDS];
+        Arrays.fill(earnings, NONE);
+        for (int id = 0; id < robotCount; id++) {
+            if (robotActive[id]) update(robotLeaf[id], robotPos[id]);
+        }
+    }
+
+    // Pasa los nodos a stride WIDE (al llegar el primer robot que no es NORMAL): copia los
+    // términos NORMAL y recalcula los de mitad de cada tienda
+    private void widen() {
+        long[] wide = new long[leafStore.length * WIDE];
+        for (int node = 0; node < leafStore.length; node++) {
+            System.arraycopy(data, node * NARROW, wide, node * WIDE, NARROW);
+            System.arraycopy(EMPTY, NARROW, wide, node * WIDE + NARROW, WIDE - NARROW);
+        }
+        data = wide;
+        stride = WIDE;
+        kinds = KINDS;
+        for (int id = 0; id < storeCount; id++) {
+            if (storeActive[id] && !storeFighter[id]) update(storeLeaf[id], storePos[id]);
+        }
+    }
+
+    // Recalcula una hoja ya creada (la de position) y sus ancestros
+    private void update(int leaf, int position) {
+        pathTo(leaf, position);
+        recomputePath(position);
+    }
+
+    // Deja en path el camino hasta una hoja ya creada; comprimido, sin buscar la posición
+    private void pathTo(int leaf, int position) {
+        if (!compressed) {
+            descend(position);
+            return;
+        }
+        for (int level = levels, node = leaf; level >= 0; level--, node >>= 1) path[level] = node;
+    }
+
+    // Hoja de una posición, o -1 si no existe (no crea nodos)
+    private int findLeaf(int position) {
+        int key = keyOf(position);
+        if (compressed) return key < 0 ? -1 : (1 << levels) + key;
+        int node = 0;
+        for (int level = 0; level < levels && node >= 0; level++) {
+            boolean goRight = ((key >>> (levels - 1 - level)) & 1) == 1;
+            int child = goRight ? right[node] : left[node];
+            node = child == 0 ? -1 : child;
+        }
+        return node;
+    }
+
+    // Baja hasta la hoja de la posición creando nodos; deja el camino en path
+    private int descend(int position) {
+        int key = keyOf(position);
+        if (key < 0 && compressed) {
+            throw new IllegalArgumentException("Position " + position + " was not declared");
+        }
+        if (compressed) {
+            pathTo((1 << levels) + key, position);
+            return path[levels];
+        }
+        int node = 0;
+        path[0] = 0;
+        for (int level = 0; level < levels; level++) {
+            boolean goRight = ((key >>> (levels - 1 - level)) & 1) == 1;
+            int child = goRight ? right[node] : left[node];
+            if (child == 0) {
+                child = newNode();
+                if (goRight) right[node] = child; else left[node] = child;
+            }
+            node = child;
+            path[level + 1] = node;
+        }
+        return node;
+    }
+
+    // Clave de una posición en el árbol: su rango si se comprimió (negativa si no existe)
+    private int keyOf(int position) {
+        if (!compressed) return position ^ Integer.MIN_VALUE;   // orden con signo -> orden sin signo
+        if (lastKey >= 0 && position == lastPosition) return lastKey;
+        for (int i = rankSlot(position); rankOf[i] != 0; i = (i + 1) & rankMask) {
+            if (rankPositions[i] == position) {
+                lastPosition = position;
+                return lastKey = rankOf[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    // Posición de una clave del árbol (inversa de keyOf)
+    private int positionOfKey(int key) {
+        return compressed ? positionOfRank[key] : key ^ Integer.MIN_VALUE;
+    }
+
+    // Casilla inicial de una posición en la tabla de rangos
+    private int rankSlot(int position) {
+        int h = position * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & rankMask;
+    }
+
+    // Hijo izquierdo o derecho de un nodo (0 si no existe)
+    private int child(int node, boolean goRight) {
+        if (compressed) return 2 * node + (goRight ? 1 : 0);
+        return goRight ? right[node] : left[node];
+    }
+
+    // Recalcula la hoja del último descenso (en la posición dada) y sus ancestros
+    // (se detiene en cuanto un nodo no cambia: sus ancestros tampoco cambiarían)
+    private void recomputePath(int position) {
+        stale = true;
+        computeLeaf(path[levels], position);
+        boolean normalOnly = stride == NARROW && earnings == null;
+        for (int level = levels - 1; level >= 0; level--) {
+            int node = path[level];
+            if (normalOnly && (compressed || (left[node] != 0 && right[node] != 0))) {
+                if (!pullNormal(node)) return;
+                continue;
+            }
+            int d = node * stride, e = node * KINDS;
+            System.arraycopy(data, d, before, 0, stride);
+            if (earnings != null) System.arraycopy(earnings, e, before, stride, KINDS);
+            pull(node);
+            if (Arrays.equals(data, d, d + stride, before, 0, stride)
+                    && (earnings == null || Arrays.equals(earnings, e, e + KINDS, before, stride, stride + KINDS))) {
+                return;
+            }
+        }
+    }
+
+    // Calcula los agregados de una hoja: robots de cada clase y tienda en la misma posición
+    private void computeLeaf(int node, int position) {
+        clearNode(node);
+        int d = node * stride;
+        int store = leafStore[node];
+        long all = 0, half = 0;
+        boolean open = store >= 0 && !storeFighter[store] && storeTenges[store] > 0;
+        if (open) {
+            all = storeTenges[store];
+            half = all / 2;
+            data[d + A_ALL] = all - position;
+            data[d + B_ALL] = all + position;
+            data[d + ALL_IDS] = pack(store, store);
+            if (stride == WIDE) {
+                data[d + A_HALF] = half - position;
+                data[d + B_HALF] = half + position;
+                data[d + HALF_IDS] = pack(store, store);
+            }
+        }
+
+        for (int kind = 0; kind < kinds; kind++) {
+            RobotHeap heap = heapAt(node, kind);
+            int robot = firstRobotAt(heap);
+            if (robot < 0) continue;
+            data[d + MAX_P[kind]] = position;
+            if (MIN_P[kind] >= 0) data[d + MIN_P[kind]] = position;
+            data[d + P_IDS[kind]] = pack(robot, robot);
+            if (open) offer(d, kind == TENDER ? half : all, robot, store);
+            if (earnings != null) earnings[node * KINDS + kind] = richestAt(heap);
+        }
+    }
+
+    // Combina los hijos de un nodo interno
+    private void pull(int node) {
+        int l = compressed ? 2 * node : left[node];
+        int r = compressed ? 2 * node + 1 : right[node];
+        clearNode(node);
+        if (l != 0) takeChild(node, l);
+        if (r != 0) takeChild(node, r);
+        if (l == 0 || r == 0) return;
+
+        int d = node * stride, dl = l * stride, dr = r * stride;
+        for (int kind = 0; kind < kinds; kind++) {
+            // Robot a la izquierda, tienda a la derecha: posRobot + (recogido - posTienda)
+            long p = data[dl + MAX_P[kind]], a = data[dr + A[kind]];
+            if (p != NONE && a != NONE) {
+                offer(d, p + a, high(data[dl + P_IDS[kind]]), high(data[dr + AB_IDS[kind]]));
+            }
+            // Tienda a la izquierda, robot a la derecha: (recogido + posTienda) - posRobot
+            if (MIN_P[kind] < 0) continue;   // NEVER_BACK no retrocede
+            long b = data[dl + B[kind]];
+            p = data[dr + MIN_P[kind]];
+            if (b != NONE && p != NONE) {
+                offer(d, b - p, low(data[dr + P_IDS[kind]]), low(data[dl + AB_IDS[kind]]));
+            }
+        }
+    }
+
+    // pull mientras todos los robots son NORMAL y no hay fighters, para un nodo con los dos
+    // hijos: desplazamientos fijos de NARROW, el nodo se arma en variables locales y solo se
+    // escribe si cambió; devuelve si cambió
+    private boolean pullNormal(int node) {
+        int l = compressed ? 2 * node : left[node];
+        int r = compressed ? 2 * node + 1 : right[node];
+        int d = node * NARROW, dl = l * NARROW, dr = r * NARROW;
+        long lMaxP = data[dl + NORMAL_MAX_P], lMinP = data[dl + NORMAL_MIN_P], lA = data[dl + A_ALL], lB = data[dl + B_ALL];
+        long rMaxP = data[dr + NORMAL_MAX_P], rMinP = data[dr + NORMAL_MIN_P], rA = data[dr + A_ALL], rB = data[dr + B_ALL];
+        long lPIds = data[dl + NORMAL_P_IDS], rPIds = data[dr + NORMAL_P_IDS];
+        long lAbIds = data[dl + ALL_IDS], rAbIds = data[dr + ALL_IDS];
+
+        // Las posiciones del hijo derecho son todas mayores que las del izquierdo
+        long maxP = rMaxP != NONE ? rMaxP : lMaxP;
+        long minP = lMinP != NONE ? lMinP : rMinP;
+        long pIds = pack(high(rMaxP != NONE ? rPIds : lPIds), low(lMinP != NONE ? lPIds : rPIds));
+        boolean rightA = rA > lA || (rA == lA && rA != NONE && high(rAbIds) < high(lAbIds));
+        boolean rightB = rB > lB || (rB == lB && rB != NONE && low(rAbIds) < low(lAbIds));
+        long a = rightA ? rA : lA, b = rightB ? rB : lB;
+        long abIds = pack(high(rightA ? rAbIds : lAbIds), low(rightB ? rAbIds : lAbIds));
+
+        long best = data[dl + BEST], bestIds = data[dl + BEST_IDS];
+        long gain = data[dr + BEST], ids = data[dr + BEST_IDS];
+        if (gain != NONE && beats(gain, ids, best, bestIds)) { best = gain; bestIds = ids; }
+        if (lMaxP != NONE && rA != NONE) {
+            gain = lMaxP + rA;
+            ids = pack(high(lPIds), high(rAbIds));
+            if (beats(gain, ids, best, bestIds)) { best = gain; bestIds = ids; }
+        }
+        if (lB != NONE && rMinP != NONE) {
+            gain = lB - rMinP;
+            ids = pack(low(rPIds), low(lAbIds));
+            if (beats(gain, ids, best, bestIds)) { best = gain; bestIds = ids; }
+        }
+
+        if (data[d + NORMAL_MAX_P] == maxP && data[d + NORMAL_MIN_P] == minP && data[d + A_ALL] == a
+                && data[d + B_ALL] == b && data[d + BEST] == best && data[d + NORMAL_P_IDS] == pIds
+                && data[d + ALL_IDS] == abIds
+                && data[d + BEST_IDS] == bestIds) {
+            return false;
+        }
+        data[d + NORMAL_MAX_P] = maxP; data[d + NORMAL_MIN_P] = minP;
+        data[d + A_ALL] = a; data[d + B_ALL] = b; data[d + BEST] = best;
+        data[d + NORMAL_P_IDS] = pIds; data[d + ALL_IDS] = abIds; data[d + BEST_IDS] = bestIds;
+        return true;
+    }
+
+    // Indica si el par (gain, ids) le gana a (best, bestIds) con el desempate de offer
+    private static boolean beats(long gain, long ids, long best, long bestIds) {
+        return gain > best || (gain == best && (high(ids) < high(bestIds)
+                || (high(ids) == high(bestIds) && low(ids) < low(bestIds))));
+    }
+
+    // Incorpora los agregados de un hijo al nodo
+    private void takeChild(int node, int child) {
+        int d = node * stride, c = child * stride;
+        for (int kind = 0; kind < kinds; kind++) {
+            int maxP = MAX_P[kind], minP = MIN_P[kind], pIds = P_IDS[kind];
+            long ids = data[d + pIds], childIds = data[c + pIds];
+            if (data[c + maxP] != NONE && data[c + maxP] > data[d + maxP]) {
+                data[d + maxP] = data[c + maxP];
+                ids = pack(high(childIds), low(ids));
+            }
+            if (minP >= 0 && data[c + minP] != NONE && (data[d + minP] == NONE || data[c + minP] < data[d + minP])) {
+                data[d + minP] = data[c + minP];
+                ids = pack(high(ids), low(childIds));
+            }
+            data[d + pIds] = ids;
+            if (earnings != null) {
+                int e = node * KINDS + kind;
+                earnings[e] = Math.max(earnings[e], earnings[child * KINDS + kind]);
+            }
+        }
+        takeStores(d, c, A_ALL, B_ALL, ALL_IDS);
+        if (stride == WIDE) takeStores(d, c, A_HALF, B_HALF, HALF_IDS);
+
+        if (data[c + BEST] != NONE) {
+            offer(d, data[c + BEST], high(data[c + BEST_IDS]), low(data[c + BEST_IDS]));
+        }
+    }
+
+    // Incorpora los términos de tienda de un hijo (empate: menor id)
+    private void takeStores(int d, int c, int aIndex, int bIndex, int idsIndex) {
+        long ids = data[d + idsIndex], childIds = data[c + idsIndex];
+        long a = data[c + aIndex], b = data[c + bIndex];
+        if (a > data[d + aIndex] || (a == data[d + aIndex] && a != NONE && high(childIds) < high(ids))) {
+            data[d + aIndex] = a;
+            ids = pack(high(childIds), low(ids));
+        }
+        if (b > data[d + bIndex] || (b == data[d + bIndex] && b != NONE && low(childIds) < low(ids))) {
+            data[d + bIndex] = b;
+            ids = pack(high(ids), low(childIds));
+        }
+        data[d + idsIndex] = ids;
+    }
+
+    // Propone un par al nodo (d = inicio de sus datos): gana mayor ganancia, luego menor robot y luego menor tienda
+    private void offer(int d, long gain, int robot, int store) {
+        long best = data[d + BEST];
+        int bestRobot = high(data[d + BEST_IDS]);
+        if (gain > best
+                || (gain == best && (robot < bestRobot
+                    || (robot == bestRobot && store < low(data[d + BEST_IDS]))))) {
+            data[d + BEST] = gain;
+            data[d + BEST_IDS] = pack(robot, store);
+        }
+    }
+
+    // Recalcula el mejor par: el de la raíz y, si hay fighters cobrables, el mejor con ellas
+    private void refresh() {
+        if (!stale) return;
+        stale = false;
+        int d = root * stride;
+        bestGain = data[d + BEST];
+        bestRobot = high(data[d + BEST_IDS]);
+        bestStore = low(data[d + BEST_IDS]);
+        if (earnings == null || fighters.isEmpty()) return;
+
+        long richest = NONE;
+        for (int kind = 0; kind < kinds; kind++) richest = Math.max(richest, earnings[root * KINDS + kind]);
+        if (richest <= 0) return;
+
+        // Solo fighters con menos dinero que el robot más rico, de mayor a menor dinero;
+        // ninguna da más que su dinero, así que se corta al no poder superar al mejor par
+        Iterator<Long> candidates = richest > Integer.MAX_VALUE
+                ? fighters.descendingIterator()
+                : fighters.headSet(richest << 32, false).descendingIterator();
+        while (candidates.hasNext()) {
+            long entry = candidates.next();
+            long tenges = entry >>> 32;
+            if (tenges < bestGain) break;
+            offerFighter(low(entry), tenges);
+        }
+    }
+
+    // Busca para una tienda fighter el robot elegible más cercano de cada clase
+    private void offerFighter(int store, long tenges) {
+        int position = storePos[store];
+        int key = keyOf(position);
+        descend(position);
+        for (int kind = 0; kind < kinds; kind++) {
+            long collected = kind == TENDER ? tenges / 2 : tenges;
+            if (collected < bestGain) continue;
+            offerNearest(store, position, collected, nearestRicher(key, kind, tenges, false));
+            if (kind != NEVER_BACK) offerNearest(store, position, collected, nearestRicher(key, kind, tenges, true));
+        }
+    }
+
+    // Propone al mejor par el robot encontrado para una tienda fighter (o nada si robotKey < 0)
+    private void offerNearest(int store, int position, long collected, long robotKey) {
+        if (robotKey < 0) return;
+        int robotPosition = positionOfKey((int) robotKey);
+        long gain = collected - Math.abs((long) robotPosition - position);
+        int robot = firstRicherAt(robotPosition, (int) (robotKey >>> 32), storeTenges[store]);
+        if (gain > bestGain
+                || (gain == bestGain && (robot < bestRobot || (robot == bestRobot && store < bestStore)))) {
+            bestGain = gain;
+            bestRobot = robot;
+            bestStore = store;
+        }
+    }
+
+    // Clave de la posición más cercana a la hoja de path (ella incluida) hacia un lado con un
+    // robot de la clase con ganancias mayores a threshold; empaqueta (clase, clave) o -1
+    private long nearestRicher(int key, int kind, long threshold, boolean toRight) {
+        int leaf = path[levels];
+        if (earnings[leaf * KINDS + kind] > threshold) return pack(kind, key);
+        for (int level = levels; level > 0; level--) {
+            int sibling = child(path[level - 1], toRight);
+            if (sibling == 0 || sibling == path[level] || earnings[sibling * KINDS + kind] <= threshold) continue;
+            // Baja por el hermano quedándose lo más cerca posible de la hoja de partida
+            int prefix = (key >>> (levels - level)) ^ 1;
+            int node = sibling;
+            for (int depth = level; depth < levels; depth++) {
+                int near = child(node, !toRight);
+                boolean goNear = near != 0 && earnings[near * KINDS + kind] > threshold;
+                node = goNear ? near : child(node, toRight);
+                prefix = (prefix << 1) | (goNear == toRight ? 0 : 1);
+            }
+            return pack(kind, prefix);
+        }
+        return -1;
+    }
+
+    // Deja un nodo sin robots ni tiendas (conserva hijos y tienda de hoja)
+    private void clearNode(int node) {
+        System.arraycopy(EMPTY, 0, data, node * stride, stride);
+        if (earnings != null) Arrays.fill(earnings, node * KINDS, node * KINDS + KINDS, NONE);
+    }
+
+    // Empaqueta dos ids en un long (alto | bajo)
+    private static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    // Id guardado en la mitad alta
+    private static int high(long ids) { return (int) (ids >> 32); }
+
+    // Id guardado en la mitad baja
+    private static int low(long ids) { return (int) ids; }
+
+    // Crea un nodo vacío
+    private int newNode() {
+        if (nodes == left.length) allocate(nodes * 2);
+        int node = nodes++;
+        left[node] = 0;
+        right[node] = 0;
+        leafStore[node] = -1;
+        clearNode(node);
+        return node;
+    }
+
+    // Reserva capacidad para los arreglos de nodos
+    private void allocate(int capacity) {
+        if (left == null) {
+            left = new int[capacity]; right = new int[capacity]; leafStore = new int[capacity];
+            data = new long[capacity * stride];
+            return;
+        }
+        left = Arrays.copyOf(left, capacity); right = Arrays.copyOf(right, capacity);
+        leafStore = Arrays.copyOf(leafStore, capacity);
+        data = Arrays.copyOf(data, capacity * stride);
+        if (earnings != null) earnings = Arrays.copyOf(earnings, capacity * KINDS);
+        for (int kind = 0; kind < KINDS; kind++) {
+            if (robotHeaps[kind] != null) robotHeaps[kind] = Arrays.copyOf(robotHeaps[kind], capacity);
+        }
+    }
+
+    /**
+     * Montículo mínimo de ids de robots en una posición. Cada robot recuerda su índice
+     * (robotSlot), así que al irse se borra al momento en O(log k) y el montículo nunca
+     * guarda más entradas que robots presentes.
+     */
+    private class RobotHeap {
+        private int[] ids = new int[2];
+        private int size;
+
+        // Agrega un id
+        void push(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            siftUp(size++, id);
+        }
+
+        // Quita un id que está en el montículo
+        void remove(int id) {
+            int i = robotSlot[id];
+            int last = ids[--size];
+            if (i == size) return;
+            if (i > 0 && ids[(i - 1) / 2] > last) siftUp(i, last);
+            else siftDown(i, last);
+        }
+
+        // Sube id desde el índice i hasta su lugar
+        private void siftUp(int i, int id) {
+            while (i > 0 && ids[(i - 1) / 2] > id) {
+                place(i, ids[(i - 1) / 2]);
+                i = (i - 1) / 2;
+            }
+            place(i, id);
+        }
+
+        // Baja id desde el índice i hasta su lugar
+        private void siftDown(int i, int id) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && ids[child + 1] < ids[child]) child++;
+                if (ids[child] >= id) break;
+                place(i, ids[child]);
+                i = child;
+            }
+            place(i, id);
+        }
+
+        // Deja id en el índice i y lo anota en robotSlot
+        private void place(int i, int id) {
+            ids[i] = id;
+            robotSlot[id] = i;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package SilkRoads;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import javax.swing.Timer;
+import Shapes.*;
+
+/**
+ * Clase Blinker: anima el parpadeo de los robots con un javax.swing.Timer.
+ * Pedir un parpadeo solo anota cuántos cambios de color faltan y vuelve al instante;
+ * los cambios los hace el temporizador en el hilo de eventos de Swing, de modo que el
+ * hilo de la simulación nunca espera por un efecto visual.
+ */
+public final class Blinker {
+
+    // Duración de cada mitad de un parpadeo (blanco o color propio)
+    public static final int HALF_PERIOD_MS = 250;
+
+    private static Blinker shared;
+
+    private final Map<RobotBase, Integer> pending = new IdentityHashMap<>();   // cambios de color restantes
+    private final Timer timer;
+
+    // Devuelve el animador compartido por todos los robots
+    public static synchronized Blinker shared() {
+        if (shared == null) shared = new Blinker();
+        return shared;
+    }
+
+    // Constructor: prepara el temporizador (arranca solo cuando hay algo que animar)
+    public Blinker() {
+        timer = new Timer(HALF_PERIOD_MS, e -> tick());
+    }
+
+    // Programa times parpadeos del robot (reemplaza los que le quedaban) y vuelve enseguida
+    public synchronized void blink(RobotBase robot, int times) {
+        if (robot == null || times <= 0) return;
+        pending.put(robot, 2 * times);
+        if (!timer.isRunning()) timer.start();
+    }
+
+    // Detiene el parpadeo de un robot y le devuelve su color
+    public void stop(RobotBase robot) {
+        synchronized (this) {
+            if (pending.remove(robot) == null) return;
+            if (pending.isEmpty()) timer.stop();
+        }
+        robot.showHighlight(false);
+    }
+
+    // Indica si al robot le quedan parpadeos pendientes
+    public synchronized boolean isBlinking(RobotBase robot) {
+        return pending.containsKey(robot);
+    }
+
+    // Un paso del temporizador: alterna el color de cada robot pendiente en un solo repintado
+    private synchronized void tick() {
+        Canvas.startFrame();
+        try {
+            Iterator<Map.Entry<RobotBase, Integer>> it = pending.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<RobotBase, Integer> entry = it.next();
+                int left = entry.getValue() - 1;
+                entry.getKey().showHighlight(left % 2 == 1);
+                if (left == 0) it.remove();
+                else entry.setValue(left);
+            }
+        } finally {
+            Canvas.endFrame();
+        }
+        if (pending.isEmpty()) timer.stop();
+    }
+}
@@ -69,6 +69,15 @@ public class Cell {
         box.makeInvisible();
     }
 
+    // Desplaza la celda en píxeles (al correrse el origen del tablero)
+    public void moveBy(int dx, int dy) {
+        if (isHeadless) return;
+        border.moveHorizontal(dx);
+        border.moveVertical(dy);
+        box.moveHorizontal(dx);
+        box.moveVertical(dy);
+    }
+
     // Devuelve el color actual de la celda
     public String getColor() {
         return color;
@@ -18,18 +18,30 @@ public class FighterStore extends StoreBase {
 
     // Verifica si un robot puede ser atendido: solo si tiene más dinero que la tienda
     public boolean canBeServedBy(int robotEarnings) {
-        return robotEarnings > this.tenges;
+        return robotEarnings > getTenges();
+    }
+
+    // Solo atiende a robots más ricos que la tienda; a los demás no les entrega nada
+    @Override
+    public int serve(RobotBase robot) {
+        return canBeServedBy(robot.getEarnings()) ? super.serve(robot) : 0;
+    }
+
+    // El índice de movimientos solo la combina con robots más ricos que ella
+    @Override
+    boolean servesRicherOnly() {
+        return true;
     }
 
     // Intenta entregar el dinero al robot: si es más rico, lo recibe; si no, se rechaza
     public int giveTengesToRobot(int robotEarnings) {
         if (canBeServedBy(robotEarnings)) {
-            int amount = this.tenges;
+            int amount = getTenges();
             emptyOnce(); // vacía la tienda y aumenta contador de veces vaciada
-            System.out.println("Robot rico tomó " + amount + " tenges de la tienda fighter en " + this.position);
+            System.out.println("Robot rico tomó " + amount + " tenges de la tienda fighter en " + getPosition());
             return amount;
         } else {
-            System.out.println("Robot pobre no pudo recoger dinero de la tienda fighter en " + this.position);
+            System.out.println("Robot pobre no pudo recoger dinero de la tienda fighter en " + getPosition());
             return 0;
         }
     }
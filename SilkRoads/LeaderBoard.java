@@ -0,0 +1,107 @@
+package SilkRoads;
+
+import java.util.Arrays;
+
+/**
+ * Clase LeaderBoard: clasificación de robots por ganancias, mantenida al vuelo.
+ * Es un árbol de torneo sobre los ids: cada nodo guarda el id ganador de su rango
+ * (más ganancias y, si empatan, menor id). Actualizar, agregar o quitar rehace solo
+ * el camino a la raíz en O(log n) sin crear objetos, el líder es la raíz (O(1)) y
+ * topK saca k ganadores en O(k log n). El desempate por id reproduce el recorrido
+ * original de la lista de robots (gana el colocado antes).
+ */
+public class LeaderBoard {
+
+    private int capacity = 16;                     // hojas del árbol (potencia de 2)
+    private int[] winner = new int[2 * capacity];  // id ganador por nodo (-1 si el rango está vacío)
+    private int[] earnings = new int[capacity];
+    private boolean[] present = new boolean[capacity];
+    private int size;
+
+    // Constructor: clasificación vacía
+    public LeaderBoard() {
+        Arrays.fill(winner, -1);
+    }
+
+    // Agrega un robot (id no negativo) con sus ganancias actuales
+    public void add(int id, int earnings) {
+        if (id >= capacity) grow(id + 1);
+        if (!present[id]) size++;
+        present[id] = true;
+        this.earnings[id] = earnings;
+        fix(id);
+    }
+
+    // Cambia las ganancias de un robot ya agregado
+    public void update(int id, int earnings) {
+        if (!contains(id) || this.earnings[id] == earnings) return;
+        this.earnings[id] = earnings;
+        fix(id);
+    }
+
+    // Quita un robot de la clasificación
+    public void remove(int id) {
+        if (!contains(id)) return;
+        present[id] = false;
+        size--;
+        fix(id);
+    }
+
+    // Indica si el robot está en la clasificación
+    public boolean contains(int id) {
+        return id >= 0 && id < capacity && present[id];
+    }
+
+    // Id del robot con más ganancias (el de menor id si empatan), o -1 si no hay robots
+    public int leader() {
+        return winner[1];
+    }
+
+    // Ids de los k primeros de la clasificación, de mayor a menor ganancia (saca a cada
+    // ganador del torneo y al final los vuelve a poner)
+    public int[] topK(int k) {
+        int[] ids = new int[Math.max(0, Math.min(k, size))];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = winner[1];
+            present[ids[i]] = false;
+            fix(ids[i]);
+        }
+        for (int id : ids) {
+            present[id] = true;
+            fix(id);
+        }
+        return ids;
+    }
+
+    // Cantidad de robots en la clasificación
+    public int size() { return size; }
+
+    // Rehace los ganadores desde la hoja de un id hasta la raíz
+    private void fix(int id) {
+        int node = capacity + id;
+        winner[node] = present[id] ? id : -1;
+        for (node >>= 1; node >= 1; node >>= 1) {
+            winner[node] = better(winner[2 * node], winner[2 * node + 1]);
+        }
+    }
+
+    // Ganador entre dos ids (-1 = vacío): más ganancias y, si empatan, menor id
+    private int better(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        if (earnings[a] != earnings[b]) return earnings[a] > earnings[b] ? a : b;
+        return Math.min(a, b);
+    }
+
+    // Duplica las hojas hasta que quepa el id y reconstruye el árbol
+    private void grow(int needed) {
+        int newCapacity = capacity;
+        while (newCapacity < needed) newCapacity *= 2;
+        earnings = Arrays.copyOf(earnings, newCapacity);
+        present = Arrays.copyOf(present, newCapacity);
+        capacity = newCapacity;
+        winner = new int[2 * capacity];
+        for (int id = 0; id < capacity; id++) winner[capacity + id] = present[id] ? id : -1;
+        for (int node = capacity - 1; node >= 1; node--) winner[node] = better(winner[2 * node], winner[2 * node + 1]);
+    }
+}
@@ -16,18 +16,22 @@ public class NeverBackRobot extends RobotBase {
     // Movimiento básico: avanza una celda hacia adelante, nunca retrocede
     @Override
     public void move() {
-        int nextPosition = currentPosition + 1;
-        if (nextPosition < currentPosition) {
+        int nextPosition = getPosition() + 1;
+        if (nextPosition < getPosition()) {
             return; // ignora si intentara retroceder
         }
-        currentPosition = nextPosition;
+        setPosition(nextPosition);
     }
 
-    // Movimiento directo: lo lleva a una nueva posición, pero solo si es hacia adelante
-    public void moveTo(int newPosition) {
-        if (newPosition > currentPosition) {
-            currentPosition = newPosition;
-        }
-        // si es menor o igual, no hace nada (no retrocede)
+    // Solo acepta posiciones hacia adelante (o quedarse donde está), nunca retrocede
+    @Override
+    public boolean canMoveTo(int position) {
+        return position >= getPosition();
+    }
+
+    // En el índice de movimientos solo se combina con tiendas a su derecha
+    @Override
+    int moveKind() {
+        return BestMoveIndex.NEVER_BACK;
     }
 }
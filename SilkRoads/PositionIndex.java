@@ -0,0 +1,122 @@
+package SilkRoads;
+
+/**
+ * Clase PositionIndex: mapa de posición (int) a elemento con direccionamiento
+ * abierto y sondeo lineal. Evita el boxing de Integer y los recorridos lineales
+ * sobre listas: get, put y remove son O(1) en promedio.
+ */
+public class PositionIndex<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;   // null = casilla libre
+    private int size;
+    private int mask;
+
+    // Constructor: crea un índice vacío
+    public PositionIndex() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+    }
+
+    // Devuelve el elemento en la posición dada o null si no hay
+    @SuppressWarnings("unchecked")
+    public V get(int position) {
+        int i = slot(position);
+        while (values[i] != null) {
+            if (keys[i] == position) return (V) values[i];
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    // Indica si hay un elemento en la posición dada
+    public boolean contains(int position) {
+        return get(position) != null;
+    }
+
+    // Asocia un elemento a la posición y devuelve el anterior (o null)
+    @SuppressWarnings("unchecked")
+    public V put(int position, V value) {
+        if (value == null) throw new IllegalArgumentException("value must not be null");
+        int i = slot(position);
+        while (values[i] != null) {
+            if (keys[i] == position) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = position;
+        values[i] = value;
+        if (++size * 2 > values.length) grow();
+        return null;
+    }
+
+    // Quita el elemento de la posición y lo devuelve (o null si no había)
+    @SuppressWarnings("unchecked")
+    public V remove(int position) {
+        int i = slot(position);
+        while (values[i] != null) {
+            if (keys[i] == position) {
+                V old = (V) values[i];
+                deleteAt(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    // Devuelve la cantidad de elementos indexados
+    public int size() { return size; }
+
+    // Vacía el índice
+    public void clear() {
+        java.util.Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // Borra la casilla i desplazando hacia atrás las entradas del mismo grupo
+    private void deleteAt(int i) {
+        int hole = i;
+        int j = (i + 1) & mask;
+        while (values[j] != null) {
+            int home = slot(keys[j]);
+            // La entrada j puede ocupar el hueco si su casilla ideal no está entre (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+            j = (j + 1) & mask;
+        }
+        values[hole] = null;
+    }
+
+    // Duplica la capacidad y reinserta todas las entradas
+    private void grow() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        mask = values.length - 1;
+        for (int k = 0; k < oldValues.length; k++) {
+            if (oldValues[k] == null) continue;
+            int i = slot(oldKeys[k]);
+            while (values[i] != null) i = (i + 1) & mask;
+            keys[i] = oldKeys[k];
+            values[i] = oldValues[k];
+        }
+    }
+
+    // Casilla ideal de una posición (mezcla los bits para posiciones consecutivas)
+    private int slot(int position) {
+        int h = position * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,188 @@
+package SilkRoads;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Clase RoadJournal: diario binario de solo agregado con las operaciones públicas de un
+ * SilkRoad (colocar, mover, quitar, reabastecer, devolver, reiniciar) y fotos periódicas
+ * de su estado completo.
+ *
+ * Formato: cabecera (MAGIC, intervalo) y luego registros. Una operación es su código y
+ * sus argumentos enteros; una foto es SNAPSHOT, el paso en que se tomó, su largo y el
+ * estado. Hay una foto al empezar y otra cada interval operaciones, de modo que restore
+ * decodifica solo la foto más cercana al paso pedido (las demás se saltan por su largo)
+ * y reproduce a lo sumo interval operaciones en lugar de empezar desde el día uno.
+ */
+public class RoadJournal implements AutoCloseable {
+
+    private static final int MAGIC = 0x534A524E;   // "SJRN"
+
+    // Códigos de registro
+    static final byte PLACE_STORE = 1;
+    static final byte PLACE_ROBOT = 2;
+    static final byte MOVE_ROBOT = 3;
+    static final byte MOVE_BEST = 4;
+    static final byte REMOVE_STORE = 5;
+    static final byte REMOVE_ROBOT = 6;
+    static final byte RESUPPLY = 7;
+    static final byte RETURN_ROBOTS = 8;
+    static final byte REBOOT = 9;
+    static final byte SNAPSHOT = 10;
+
+    // Cantidad de argumentos enteros de cada operación (por código)
+    private static final int[] ARGS = {0, 3, 2, 2, 0, 1, 1, 0, 0, 0};
+
+    // Tipos de tienda y de robot por código (el 0 es el tipo por defecto)
+    static final String[] STORE_TYPES = {"normal", "autonomous", "fighter"};
+    static final String[] ROBOT_TYPES = {"normal", "tender", "neverback"};
+
+    private final DataOutputStream out;
+    private final int interval;
+    private SilkRoad road;
+    private long steps;            // operaciones registradas
+    private long snapshotAt = -1;  // paso de la última foto
+
+    // Constructor: escribe en out (lo cierra close) con una foto cada interval operaciones
+    public RoadJournal(OutputStream out, int interval) {
+        if (interval <= 0) throw new IllegalArgumentException("Snapshot interval must be positive");
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.interval = interval;
+        try {
+            this.out.writeInt(MAGIC);
+            this.out.writeInt(interval);
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+    }
+
+    // Empieza a registrar una ruta: la foto del paso 0 es su estado actual (lo llama SilkRoad)
+    void begin(SilkRoad road) {
+        if (this.road != null) throw new IllegalStateException("Journal already records a road");
+        this.road = road;
+        snapshotIfDue();
+    }
+
+    // Registra una operación antes de ejecutarla; si tocaba, antes guarda la foto del estado
+    // que dejó la operación anterior
+    void record(byte op, int a, int b, int c) {
+        snapshotIfDue();
+        try {
+            out.writeByte(op);
+            int args = ARGS[op];
+            if (args > 0) out.writeInt(a);
+            if (args > 1) out.writeInt(b);
+            if (args > 2) out.writeInt(c);
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+        steps++;
+    }
+
+    // Cantidad de operaciones registradas
+    public long getSteps() { return steps; }
+
+    // Escribe lo pendiente (incluida la foto si la última operación completó un intervalo)
+    public void flush() {
+        snapshotIfDue();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+    }
+
+    // Escribe lo pendiente y cierra el flujo
+    @Override
+    public void close() {
+        flush();
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal close failed", e);
+        }
+    }
+
+    // Reconstruye, sin vista, la ruta tal como quedó tras step operaciones del diario:
+    // carga la foto del paso múltiplo de interval anterior y reproduce el resto
+    public static SilkRoad restore(InputStream in, long step) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (data.readInt() != MAGIC) throw new IOException("Not a SilkRoad journal");
+        int interval = data.readInt();
+        long base = step - step % interval;
+
+        SilkRoad road = null;
+        long at = -1;   // operaciones aplicadas a road
+        while (road == null || at < step) {
+            int op = data.read();
+            if (op < 0) throw new IOException("Journal ends before step " + step);
+            if (op == SNAPSHOT) {
+                long taken = data.readLong();
+                int length = data.readInt();
+                if (taken == base) {
+                    road = SilkRoad.readState(data);
+                    at = taken;
+                } else {
+                    data.skipNBytes(length);
+                }
+            } else if (op > 0 && op < ARGS.length) {
+                int a = ARGS[op] > 0 ? data.readInt() : 0;
+                int b = ARGS[op] > 1 ? data.readInt() : 0;
+                int c = ARGS[op] > 2 ? data.readInt() : 0;
+                if (road != null) {
+                    apply(road, op, a, b, c);
+                    at++;
+                }
+            } else {
+                throw new IOException("Unknown journal record " + op);
+            }
+        }
+        return road;
+    }
+
+    // Código de un tipo de tienda o robot (los desconocidos valen 0, como en SilkRoad)
+    static int typeCode(String[] types, String type) {
+        String name = type.toLowerCase();
+        for (int i = 1; i < types.length; i++) {
+            if (types[i].equals(name)) return i;
+        }
+        return 0;
+    }
+
+    // Vuelve a ejecutar una operación registrada
+    private static void apply(SilkRoad road, int op, int a, int b, int c) {
+        switch (op) {
+            case PLACE_STORE -> road.placeStore(a, STORE_TYPES[b], c);
+            case PLACE_ROBOT -> road.placeRobot(a, ROBOT_TYPES[b]);
+            case MOVE_ROBOT -> road.moveRobot(a, b);
+            case MOVE_BEST -> road.moveRobot();
+            case REMOVE_STORE -> road.removeStore(a);
+            case REMOVE_ROBOT -> road.removeRobot(a);
+            case RESUPPLY -> road.resupplyStores();
+            case RETURN_ROBOTS -> road.returnRobots();
+            default -> road.reboot();
+        }
+    }
+
+    // Guarda una foto si la última operación completó un intervalo y aún no se tomó
+    private void snapshotIfDue() {
+        if (road == null || steps == snapshotAt || steps % interval != 0) return;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            road.writeState(new DataOutputStream(bytes));
+            out.writeByte(SNAPSHOT);
+            out.writeLong(steps);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+        snapshotAt = steps;
+    }
+}
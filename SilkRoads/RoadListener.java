@@ -0,0 +1,39 @@
+package SilkRoads;
+
+/**
+ * Interfaz RoadListener: recibe los eventos que emite el modelo SilkRoad.
+ * Permite correr la simulación sin vista y conectar una (RoadView) solo cuando
+ * alguien está mirando. Todos los métodos son opcionales (no-op por defecto).
+ */
+public interface RoadListener {
+
+    // La ruta creció hasta tener routeSize posiciones
+    default void routeExtended(int routeSize) { }
+
+    // Se colocó una tienda (ya en su posición final)
+    default void storePlaced(StoreBase store) { }
+
+    // Se eliminó una tienda
+    default void storeRemoved(StoreBase store) { }
+
+    // Un robot recogió dinero de una tienda (según los tipos puede no quedar vacía)
+    default void storeEmptied(StoreBase store) { }
+
+    // Todas las tiendas recuperaron su dinero inicial
+    default void storesResupplied() { }
+
+    // Se colocó un robot
+    default void robotPlaced(RobotBase robot) { }
+
+    // Se eliminó un robot
+    default void robotRemoved(RobotBase robot) { }
+
+    // Un robot cambió de posición (movimiento o regreso al inicio)
+    default void robotMoved(RobotBase robot, int from, int to) { }
+
+    // Cambió la ganancia acumulada de la ruta
+    default void profitChanged(int profit) { }
+
+    // Cambió el robot líder (previous puede ser null)
+    default void leaderChanged(RobotBase previous, RobotBase leader) { }
+}
@@ -0,0 +1,302 @@
+package SilkRoads;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import Shapes.*;
+
+/**
+ * Clase RoadView: vista con Shapes de un SilkRoad.
+ * Se suscribe a los eventos del modelo y mantiene el tablero en espiral, la barra
+ * de ganancias y la posición dibujada de tiendas y robots.
+ * Solo dibuja las tiendas y robots que caen en la ventana del tablero; los demás quedan
+ * ocultos y sus figuras se ponen al día cuando un evento los trae a la ventana.
+ */
+public class RoadView implements RoadListener {
+
+    private final SilkRoad road;
+
+    // --- Visual y control ---
+    private final Board board;
+    private boolean showing;
+    private int lastPrintedProfit = -1;
+
+    // Barra de progreso
+    private Rectangle profitBarBackground;
+    private Rectangle profitBarFill;
+    private static final int MAX_PROFIT = 1000;
+
+    // Visibilidad de la espiral
+    private int visibleTarget;
+    private int revealed;          // posiciones de la espiral ya marcadas visibles en el tablero
+    private final SpiralExtent extent = new SpiralExtent();
+
+    // Offset para mapear coords lógicas a board
+    private int originRow = 0;
+    private int originCol = 0;
+
+    // Tiendas y robots dentro de la ventana del tablero (los únicos con figuras al día)
+    private final Set<StoreBase> storesOnScreen = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<RobotBase> robotsOnScreen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Constructor: prepara tablero, espiral y barra de progreso para la ruta
+    public RoadView(SilkRoad road) {
+        this.road = road;
+        this.showing = false;
+
+        this.board = new Board(1, 1);
+        board.setCellVisible(0, 0, false);
+
+        this.visibleTarget = road.getRouteSize();
+        preGrowToVisibleTarget();
+        applyVisibleMaskForFirstN();
+
+        board.makeVisible();
+
+        profitBarBackground = new Rectangle();
+        profitBarFill = new Rectangle();
+
+        profitBarBackground.changeSize(20, 200);
+        profitBarBackground.changeColor("gray");
+        profitBarFill.changeSize(20, 0);
+        profitBarFill.changeColor("green");
+
+        layoutProfitBarAboveBoard();
+        profitBarBackground.makeVisible();
+        profitBarFill.makeVisible();
+
+        showing = true;
+        updateProfitBar(road.getProfit());
+    }
+
+    // Muestra tablero, tiendas, robots y barra
+    public void makeVisible() {
+        inFrame(() -> {
+            board.makeVisible();
+            for (StoreBase s : storesOnScreen) s.makeVisible();
+            for (RobotBase r : robotsOnScreen) r.makeVisible();
+
+            if (isBarReady()) {
+                profitBarBackground.makeVisible();
+                profitBarFill.makeVisible();
+            }
+            showing = true;
+            updateProfitBar(road.getProfit());
+        });
+    }
+
+    // Oculta tablero, tiendas, robots y barra
+    public void makeInvisible() {
+        inFrame(() -> {
+            for (StoreBase s : storesOnScreen) s.makeInvisible();
+            for (RobotBase r : robotsOnScreen) r.makeInvisible();
+            board.makeInvisible();
+
+            if (isBarReady()) {
+                profitBarBackground.makeInvisible();
+                profitBarFill.makeInvisible();
+            }
+            showing = false;
+        });
+    }
+
+    // Indica si la vista está mostrando la ruta
+    public boolean isShowing() { return showing; }
+
+    // --- Eventos del modelo ---
+
+    @Override
+    public void routeExtended(int routeSize) {
+        if (routeSize <= visibleTarget) return;
+        visibleTarget = routeSize;
+        inFrame(() -> {
+            preGrowToVisibleTarget();
+            applyVisibleMaskForFirstN();
+        });
+    }
+
+    @Override
+    public void storePlaced(StoreBase store) {
+        inFrame(() -> {
+            ensureBoardCanFitForLocation(store.getPosition());
+            syncStore(store);
+        });
+    }
+
+    @Override
+    public void storeRemoved(StoreBase store) {
+        storesOnScreen.remove(store);
+        store.makeInvisible();
+    }
+
+    @Override
+    public void robotPlaced(RobotBase robot) {
+        inFrame(() -> {
+            ensureBoardCanFitForLocation(robot.getPosition());
+            syncRobot(robot, robot.getPosition());
+        });
+    }
+
+    @Override
+    public void robotRemoved(RobotBase robot) {
+        robotsOnScreen.remove(robot);
+        robot.makeInvisible();
+    }
+
+    @Override
+    public void robotMoved(RobotBase robot, int from, int to) {
+        inFrame(() -> {
+            ensureBoardCanFitForLocation(to);
+            syncRobot(robot, to);
+        });
+    }
+
+    @Override
+    public void profitChanged(int profit) {
+        updateProfitBar(profit);
+    }
+
+    @Override
+    public void leaderChanged(RobotBase previous, RobotBase leader) {
+        if (previous != null) previous.setBlinking(false);
+        leader.setBlinking(true);
+    }
+
+    // --- Tablero y barra ---
+
+    // Ejecuta cambios visuales dentro de un lote del lienzo (un solo repintado al final)
+    private void inFrame(Runnable action) {
+        Canvas.startFrame();
+        try {
+            action.run();
+        } finally {
+            Canvas.endFrame();
+        }
+    }
+
+    // Actualiza la barra de ganancias
+    private void updateProfitBar(int profit) {
+        if (!showing) return;
+        int fillHeight = (int) (200.0 * profit / MAX_PROFIT);
+        if (fillHeight > 200) fillHeight = 200;
+        profitBarFill.changeSize(20, Math.max(fillHeight, 0));
+
+        if (profit != lastPrintedProfit) {
+            System.out.println("Profit actual: " + profit);
+            lastPrintedProfit = profit;
+        }
+    }
+
+    // Verifica si la barra está lista
+    private boolean isBarReady() {
+        return profitBarBackground != null && profitBarFill != null;
+    }
+
+    // Coloca la barra sobre el tablero
+    private void layoutProfitBarAboveBoard() {
+        profitBarBackground.moveHorizontal(0);
+        profitBarBackground.moveVertical(0);
+        profitBarFill.moveHorizontal(0);
+        profitBarFill.moveVertical(0);
+    }
+
+    // Convierte coordenadas lógicas a tablero (empaquetadas con SpiralGeometry.pack)
+    private long boardCoordsFromLogical(int rLog, int cLog) {
+        return SpiralGeometry.pack(rLog + originRow, cLog + originCol);
+    }
+
+    // Devuelve coordenadas de tablero empaquetadas para una posición
+    private long boardCoordsForLocation(int location) {
+        long rcLog = SpiralGeometry.packedCoords(location);
+        return boardCoordsFromLogical(SpiralGeometry.row(rcLog), SpiralGeometry.col(rcLog));
+    }
+
+    // Ajusta el tablero para crecer hasta cubrir la espiral visible
+    private void preGrowToVisibleTarget() {
+        extent.extendTo(visibleTarget);
+
+        int addTop = Math.max(0, -extent.getMinRow() - originRow);
+        int addLeft = Math.max(0, -extent.getMinCol() - originCol);
+        growBoard(addTop, addLeft,
+                Math.max(extent.getRows(), board.getRows() + addTop),
+                Math.max(extent.getCols(), board.getCols() + addLeft));
+    }
+
+    // Hace crecer el tablero conservando sus celdas; si cambia el origen re-ubica tiendas y robots
+    private void growBoard(int addTop, int addLeft, int newRows, int newCols) {
+        if (addTop == 0 && addLeft == 0 && newRows == board.getRows() && newCols == board.getCols()) return;
+
+        board.grow(addTop, addLeft, newRows, newCols);
+        originRow += addTop;
+        originCol += addLeft;
+        if (addTop > 0 || addLeft > 0) resyncVisuals();
+        if (isBarReady()) layoutProfitBarAboveBoard();
+    }
+
+    // Revela en el tablero las posiciones de la espiral aún ocultas hasta visibleTarget
+    private void applyVisibleMaskForFirstN() {
+        for (; revealed < visibleTarget; revealed++) {
+            long rc = SpiralGeometry.packedCoords(revealed);
+            board.setCellVisible(SpiralGeometry.row(rc) + originRow, SpiralGeometry.col(rc) + originCol, true);
+        }
+    }
+
+    // Asegura que el tablero pueda mostrar una posición dada
+    private void ensureBoardCanFitForLocation(int location) {
+        routeExtended(location + 1);
+        long rcLog = SpiralGeometry.packedCoords(location);
+        ensureBoardCanFitLogical(SpiralGeometry.row(rcLog), SpiralGeometry.col(rcLog));
+        applyVisibleMaskForFirstN();
+        layoutProfitBarAboveBoard();
+    }
+
+    // Ajusta tablero para coordenadas lógicas específicas
+    private void ensureBoardCanFitLogical(int rLog, int cLog) {
+        int br = rLog + originRow;
+        int bc = cLog + originCol;
+
+        int newRows = board.getRows();
+        int newCols = board.getCols();
+        int addTop = 0, addLeft = 0;
+
+        if (br < 0) { addTop = -br; newRows += addTop; br = 0; }
+        if (bc < 0) { addLeft = -bc; newCols += addLeft; bc = 0; }
+        if (br >= newRows) newRows = br + 1;
+        if (bc >= newCols) newCols = bc + 1;
+
+        growBoard(addTop, addLeft, newRows, newCols);
+    }
+
+    // Re-sincroniza tiendas y robots tras un cambio de origen. Solo recorre los que estaban
+    // en la ventana: el origen solo agrega filas arriba y columnas a la izquierda, así que
+    // las coordenadas de tablero crecen y lo que estaba fuera de la ventana sigue fuera
+    private void resyncVisuals() {
+        for (StoreBase s : storesOnScreen.toArray(new StoreBase[0])) syncStore(s);
+        for (RobotBase r : robotsOnScreen.toArray(new RobotBase[0])) syncRobot(r, r.getPosition());
+    }
+
+    // Dibuja una tienda en su casilla si cae en la ventana; si no, la oculta y deja sus
+    // figuras donde estaban (moveStore recibe coordenadas absolutas al volver)
+    private void syncStore(StoreBase store) {
+        long rc = boardCoordsForLocation(store.getPosition());
+        int row = SpiralGeometry.row(rc), col = SpiralGeometry.col(rc);
+        if (board.isInViewport(row, col)) {
+            store.moveStore(row, col);
+            if (storesOnScreen.add(store) && showing) store.makeVisible();
+        } else if (storesOnScreen.remove(store)) {
+            store.makeInvisible();
+        }
+    }
+
+    // Dibuja un robot en la casilla de location si cae en la ventana; si no, lo oculta
+    private void syncRobot(RobotBase robot, int location) {
+        long rc = boardCoordsForLocation(location);
+        int row = SpiralGeometry.row(rc), col = SpiralGeometry.col(rc);
+        if (board.isInViewport(row, col)) {
+            robot.moveRobot(row, col);
+            if (robotsOnScreen.add(robot) && showing) robot.makeVisible();
+        } else if (robotsOnScreen.remove(robot)) {
+            robot.makeInvisible();
+        }
+    }
+}
@@ -14,6 +14,6 @@ public class Robot extends RobotBase {
     // Movimiento básico: avanza una posición hacia adelante
     @Override
     public void move() {
-        currentPosition += 1;
+        setPosition(getPosition() + 1);
     }
 }
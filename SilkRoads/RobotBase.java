@@ -7,18 +7,22 @@ import Shapes.*;
  * Define la estructura general de un robot en el simulador SilkRoads.
  * Contiene atributos, tamaños, color, movimiento y lógica compartida.
  * Subclases: Robot, NeverBackRobot, TenderRobot, etc.
+ *
+ * El estado lógico (posiciones y ganancias) vive en una fila de RobotTable; el robot
+ * es una vista sobre esa fila. Suelto usa una tabla propia y al colocarse en un
+ * SilkRoad se muda a la tabla de la ruta.
  */
 public abstract class RobotBase {
 
     // --- ATRIBUTOS GENERALES ---
     protected String type;              // tipo de robot (normal, tender, neverback, etc.)
-    protected int currentPosition;      // posición actual
-    protected int startingPosition;     // posición inicial
-    protected int tengesCollected;      // dinero acumulado
+    RobotTable table;                   // posición actual e inicial y dinero acumulado (fila row)
+    int row;
     protected SilkRoad road;            // referencia al tablero
     protected String color;             // color del robot
+    protected int roadId = -1;          // id en el índice de movimientos del SilkRoad
 
-    // --- COMPONENTES VISUALES ---
+    // --- COMPONENTES VISUALES (se crean al dibujar por primera vez) ---
     protected Circle head;
     protected Rectangle neck;
     protected Rectangle body;
@@ -42,10 +46,21 @@ public abstract class RobotBase {
     // Constructor: inicializa atributos y componentes visuales del robot
     public RobotBase(String type, int position, int tenges, String color) {
         this.type = type;
-        this.currentPosition = position;
-        this.startingPosition = position;
-        this.tengesCollected = tenges;
+        this.table = new RobotTable(1);
+        this.row = table.add(position, position, tenges, BestMoveIndex.NORMAL);
         this.color = color;
+    }
+
+    // Muda el estado del robot a otra tabla (la de un SilkRoad) y pasa a ser vista de esa fila
+    void moveInto(RobotTable target) {
+        int newRow = target.add(getPosition(), getInitialPosition(), getEarnings(), moveKind());
+        table = target;
+        row = newRow;
+    }
+
+    // Crea las formas del robot si aún no existen (un robot headless nunca las crea)
+    protected void ensureShapes() {
+        if (head != null) return;
 
         // Inicializar formas
         head = new Circle();      head.changeSize(HEAD_D);
@@ -64,6 +79,12 @@ public abstract class RobotBase {
         rightleg.moveVertical  (45 + HEAD_D + NECK_H + BODY_H);
 
         applyColor(color);
+
+        // Lleva las formas a la última celda registrada
+        int row = lastRow, col = lastCol;
+        lastRow = 0;
+        lastCol = 0;
+        moveRobot(row, col);
     }
 
     // Enlaza el robot con el tablero SilkRoad
@@ -71,16 +92,16 @@ public abstract class RobotBase {
         this.road = road;
     }
 
-    // Añade ganancias al robot y actualiza líder en el tablero
+    // Añade ganancias al robot y avisa al tablero (índice de movimientos y líder)
     public synchronized void addEarnings(int amount) {
         if (amount <= 0) return;
-        tengesCollected += amount;
-        if (road != null) road.updateLeader();
+        table.earnings[row] += amount;
+        if (road != null) road.earningsChanged(this);
     }
 
     // Devuelve las ganancias acumuladas
     public synchronized int getEarnings() {
-        return tengesCollected;
+        return table.earnings[row];
     }
 
     // Cambia el color del robot
@@ -91,83 +112,140 @@ public abstract class RobotBase {
 
     // Aplica color a todas las partes del robot
     protected void applyColor(String color) {
-        head.changeColor(color);
-        neck.changeColor(color);
-        body.changeColor(color);
-        leftleg.changeColor(color);
-        rightleg.changeColor(color);
+        if (head == null) return;
+        Canvas.startFrame();
+        try {
+            head.changeColor(color);
+            neck.changeColor(color);
+            body.changeColor(color);
+            leftleg.changeColor(color);
+            rightleg.changeColor(color);
+        } finally {
+            Canvas.endFrame();
+        }
     }
 
-    // Activa o desactiva parpadeo del robot
+    // Activa o desactiva parpadeo del robot (lo anima Blinker: no bloquea al que llama)
     public void setBlinking(boolean active) {
         if (active) blinkRepeated(6);
-        else applyColor(color);
+        else if (head != null) Blinker.shared().stop(this);
     }
 
     // Parpadea una vez (cambia a blanco y vuelve al color original)
     public void blinkOnce() {
-        try {
-            applyColor("white");
-            Thread.sleep(250);
-            applyColor(color);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        blinkRepeated(1);
     }
 
     // Parpadea varias veces
     public void blinkRepeated(int times) {
-        for (int i = 0; i < times; i++) {
-            blinkOnce();
-        }
+        if (head == null) return;
+        Blinker.shared().blink(this, times);
+    }
+
+    // Muestra el robot resaltado (blanco) o con su color; lo usa Blinker en cada paso
+    void showHighlight(boolean on) {
+        applyColor(on ? "white" : color);
     }
 
     // Hace visible al robot en el tablero
     public void makeVisible() {
-        neck.makeVisible();
-        body.makeVisible();
-        leftleg.makeVisible();
-        rightleg.makeVisible();
-        head.makeVisible();
+        ensureShapes();
+        Canvas.startFrame();
+        try {
+            neck.makeVisible();
+            body.makeVisible();
+            leftleg.makeVisible();
+            rightleg.makeVisible();
+            head.makeVisible();
+        } finally {
+            Canvas.endFrame();
+        }
     }
 
     // Oculta al robot del tablero
     public void makeInvisible() {
-        head.makeInvisible();
-        neck.makeInvisible();
-        body.makeInvisible();
-        leftleg.makeInvisible();
-        rightleg.makeInvisible();
+        if (head == null) return;
+        Canvas.startFrame();
+        try {
+            head.makeInvisible();
+            neck.makeInvisible();
+            body.makeInvisible();
+            leftleg.makeInvisible();
+            rightleg.makeInvisible();
+        } finally {
+            Canvas.endFrame();
+        }
     }
 
     // Mueve gráficamente al robot en el tablero según fila y columna
     public void moveRobot(int row, int col) {
+        if (head == null) {
+            lastRow = row;
+            lastCol = col;
+            return;
+        }
         int dx = (col - lastCol) * Cell.STEP_X;
         int dy = (row - lastRow) * Cell.STEP_Y;
 
-        head.moveHorizontal(dx);   head.moveVertical(dy);
-        neck.moveHorizontal(dx);   neck.moveVertical(dy);
-        body.moveHorizontal(dx);   body.moveVertical(dy);
-        leftleg.moveHorizontal(dx); leftleg.moveVertical(dy);
-        rightleg.moveHorizontal(dx); rightleg.moveVertical(dy);
+        // Un solo repintado para las diez operaciones de las cinco partes
+        Canvas.startFrame();
+        try {
+            head.moveHorizontal(dx);   head.moveVertical(dy);
+            neck.moveHorizontal(dx);   neck.moveVertical(dy);
+            body.moveHorizontal(dx);   body.moveVertical(dy);
+            leftleg.moveHorizontal(dx); leftleg.moveVertical(dy);
+            rightleg.moveHorizontal(dx); rightleg.moveVertical(dy);
+        } finally {
+            Canvas.endFrame();
+        }
 
         lastRow = row;
         lastCol = col;
     }
 
+    // Indica si el robot acepta ir a una posición (por defecto a cualquiera)
+    public boolean canMoveTo(int position) {
+        return true;
+    }
+
+    // Lleva al robot a una posición si su tipo lo permite
+    public void moveTo(int position) {
+        if (canMoveTo(position)) setPosition(position);
+    }
+
+    // Clase del robot en el índice de movimientos (cómo recoge y hacia dónde va)
+    int moveKind() {
+        return BestMoveIndex.NORMAL;
+    }
+
+    // Recoge de una tienda que lo atiende: por defecto todo su dinero; devuelve lo recogido
+    public int collectFrom(StoreBase store) {
+        return store.withdraw(store.getTenges());
+    }
+
     // Devuelve posición actual del robot
-    public int getPosition() { return currentPosition; }
+    public int getPosition() { return table.position[row]; }
+
+    // Cambia la posición actual (los movimientos de cada subclase pasan por aquí) y avisa
+    // al tablero, que mueve al robot en su índice aunque el cambio no venga de la ruta
+    protected void setPosition(int position) {
+        int from = table.position[row];
+        if (from == position) return;
+        table.position[row] = position;
+        if (road != null) road.robotMoved(this, from);
+    }
 
     // Devuelve posición inicial del robot
-    public int getInitialPosition() { return startingPosition; }
+    public int getInitialPosition() { return table.start[row]; }
 
     // Devuelve tipo de robot
     public String getType() { return type; }
 
     // Reinicia robot a su posición inicial y ganancias en 0
     public void reset() {
-        this.currentPosition = startingPosition;
-        this.tengesCollected = 0;
+        table.earnings[row] = 0;
+        setPosition(table.start[row]);
+        if (road != null) road.earningsChanged(this);
     }
 
     // Método abstracto: cada subclase define su movimiento lógico
@@ -178,9 +256,9 @@ public abstract class RobotBase {
     public String toString() {
         return "Robot{" +
                 "tipo='" + type + '\'' +
-                ", posición=" + currentPosition +
-                ", inicio=" + startingPosition +
-                ", ganancias=" + tengesCollected +
+                ", posición=" + getPosition() +
+                ", inicio=" + getInitialPosition() +
+                ", ganancias=" + getEarnings() +
                 ", color='" + color + '\'' +
                 '}';
     }
@@ -0,0 +1,50 @@
+package SilkRoads;
+
+import java.util.Arrays;
+
+/**
+ * Clase RobotTable: estado lógico de los robots en arreglos paralelos (struct-of-arrays).
+ * Cada robot es una fila; RobotBase es una vista delgada que lee y escribe la suya.
+ * Un robot suelto tiene una tabla propia de una fila y al colocarse en un SilkRoad se
+ * muda a la tabla de la ruta, donde los recorridos por todos los robots (reinicio)
+ * leen memoria contigua en lugar de saltar de objeto en objeto.
+ */
+final class RobotTable {
+
+    int[] position;    // posición actual
+    int[] start;       // posición inicial
+    int[] earnings;    // dinero acumulado
+    byte[] kind;       // clase en el índice de movimientos (BestMoveIndex.NORMAL, ...)
+    int size;
+
+    // Constructor: tabla vacía con la capacidad dada
+    RobotTable(int capacity) {
+        position = new int[capacity];
+        start = new int[capacity];
+        earnings = new int[capacity];
+        kind = new byte[capacity];
+    }
+
+    // Agrega una fila y devuelve su número
+    int add(int position, int start, int earnings, int kind) {
+        if (size == this.position.length) {
+            int capacity = Math.max(4, size * 2);
+            this.position = Arrays.copyOf(this.position, capacity);
+            this.start = Arrays.copyOf(this.start, capacity);
+            this.earnings = Arrays.copyOf(this.earnings, capacity);
+            this.kind = Arrays.copyOf(this.kind, capacity);
+        }
+        int row = size++;
+        this.position[row] = position;
+        this.start[row] = start;
+        this.earnings[row] = earnings;
+        this.kind[row] = (byte) kind;
+        return row;
+    }
+
+    // Devuelve todos los robots a su posición inicial con ganancias en 0
+    void resetAll() {
+        System.arraycopy(start, 0, position, 0, size);
+        Arrays.fill(earnings, 0, size, 0);
+    }
+}
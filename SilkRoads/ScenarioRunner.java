@@ -0,0 +1,55 @@
+package SilkRoads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Clase ScenarioRunner: evalúa muchos guiones de acciones independientes en paralelo.
+ * Cada guion corre en su propio motor sin vista (por defecto SilkRoadSolver), que no
+ * comparte estado con los demás: no toca el lienzo ni Swing. Los resultados se
+ * devuelven en el mismo orden de entrada.
+ */
+public class ScenarioRunner implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final Function<int[][], long[]> engine;
+
+    // Constructor: usa SilkRoadSolver con el paralelismo dado
+    public ScenarioRunner(int parallelism) {
+        this(parallelism, SilkRoadSolver::solve);
+    }
+
+    // Constructor: usa un motor propio; debe crear su propio estado en cada llamada
+    public ScenarioRunner(int parallelism, Function<int[][], long[]> engine) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.engine = engine;
+    }
+
+    // Resuelve todos los guiones y devuelve las ganancias diarias de cada uno, en orden
+    public List<long[]> run(List<int[][]> scenarios) {
+        List<Callable<long[]>> tasks = new ArrayList<>(scenarios.size());
+        for (int[][] scenario : scenarios) tasks.add(() -> engine.apply(scenario));
+
+        List<long[]> results = new ArrayList<>(scenarios.size());
+        try {
+            for (Future<long[]> future : pool.invokeAll(tasks)) results.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scenario run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario failed", e.getCause());
+        }
+        return results;
+    }
+
+    // Libera los hilos del pool
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
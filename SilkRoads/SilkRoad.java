@@ -1,10 +1,17 @@
 package SilkRoads;
 
-import Shapes.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
 /**
- * Clase principal SilkRoad: maneja tablero, tiendas, robots y lógica de la espiral.
+ * Clase principal SilkRoad: maneja tiendas, robots y lógica de la espiral.
+ * Es solo el modelo: cada cambio se publica como evento a los RoadListener
+ * suscritos. La vista con Shapes (RoadView) es uno de ellos y solo existe
+ * cuando la ruta se crea para mostrarse.
+ * Con un RoadJournal enlazado, cada operación pública queda registrada para poder
+ * reconstruir la ruta en cualquier paso.
  */
 public class SilkRoad {
 
@@ -13,137 +20,140 @@ public class SilkRoad {
     private int length;
 
     private final List<StoreBase> stores;
+    private final PositionIndex<StoreBase> storesByPosition;
+    private final BitSet occupiedByStores = new BitSet();   // posiciones >= 0 con tienda
     private final List<RobotBase> robots;
+    private LeaderBoard leaders = new LeaderBoard();   // por roadId
     private RobotBase currentLeader;
 
-    // --- Visual y control ---
-    private Board board;
-    private boolean showing;
+    // Índice del mejor movimiento automático (ids -> entidades)
+    private BestMoveIndex moves;
+    private final List<RobotBase> robotsById;
+    private final List<StoreBase> storesById;
+
+    // Estado lógico de robots y tiendas colocados, en arreglos paralelos (fila = roadId);
+    // las filas quitadas quedan sin uso hasta que compactIfSparse renumera las vivas
+    private RobotTable robotTable = new RobotTable(16);
+    private StoreTable storeTable = new StoreTable(16);
+
+    // --- Control ---
     private boolean lastOperationOk;
     private int profit;
-    private int lastPrintedProfit = -1;
 
-    // Barra de progreso
-    private Rectangle profitBarBackground;
-    private Rectangle profitBarFill;
-    private static final int MAX_PROFIT = 1000;
+    // Suscriptores de eventos (arreglo copiado al suscribir: recorrerlo no crea iteradores)
+    // y vista con Shapes (null si es headless)
+    private RoadListener[] listeners = new RoadListener[0];
+    private RoadView view;
 
-    // Visibilidad de la espiral
+    // Tamaño de la espiral
     private int visibleTarget;
 
     // Paletas de colores
     private final String[] robotColors = {"red", "blue", "green", "orange", "magenta", "pink"};
     private final String[] storeColors = {"yellow", "cyan", "gray", "black", "lightgray"};
 
-    // Offset para mapear coords lógicas a board
-    private int originRow = 0;
-    private int originCol = 0;
+    // Diario de operaciones (null si no se registran)
+    private RoadJournal journal;
 
-    // Log de ganancias
-    private final List<int[]> robotGainLog = new ArrayList<>();
-
-    // Constructor: prepara tablero, espiral y barra de progreso
+    // Constructor: prepara la espiral y la vista con tablero y barra de progreso
     public SilkRoad(int length) {
+        this(length, false);
+    }
+
+    // Crea una ruta sin vista: nunca carga Shapes ni Swing (simulaciones por lotes)
+    public static SilkRoad headless(int length) {
+        return new SilkRoad(length, true);
+    }
+
+    // Constructor completo: permite definir si la ruta es "headless"
+    private SilkRoad(int length, boolean headless) {
         this.initialLength = length;
         this.length = 0;
 
         this.stores = new ArrayList<>();
+        this.storesByPosition = new PositionIndex<>();
         this.robots = new ArrayList<>();
+        this.moves = new BestMoveIndex();
+        this.robotsById = new ArrayList<>();
+        this.storesById = new ArrayList<>();
 
         this.lastOperationOk = true;
         this.profit = 0;
-        this.showing = false;
-
-        this.board = new Board(1, 1);
 
         this.visibleTarget = Math.max(1, initialLength);
-        preGrowToVisibleTarget();
-        applyVisibleMaskForFirstN();
+        if (headless) return;
 
-        board.makeVisible();
-
-        profitBarBackground = new Rectangle();
-        profitBarFill = new Rectangle();
-
-        profitBarBackground.changeSize(20, 200);
-        profitBarBackground.changeColor("gray");
-        profitBarFill.changeSize(20, 0);
-        profitBarFill.changeColor("green");
-
-        layoutProfitBarAboveBoard();
-        profitBarBackground.makeVisible();
-        profitBarFill.makeVisible();
-
-        showing = true;
-        updateProfitBar();
+        view = new RoadView(this);
+        addListener(view);
     }
 
     // Muestra tablero, tiendas, robots y barra
     public void makeVisible() {
-        board.makeVisible();
-        for (StoreBase s : stores) s.makeVisible();
-        for (RobotBase r : robots) r.makeVisible();
-
-        if (isBarReady()) {
-            profitBarBackground.makeVisible();
-            profitBarFill.makeVisible();
-        }
-        showing = true;
-        updateProfitBar();
+        if (view != null) view.makeVisible();
     }
 
     // Oculta tablero, tiendas, robots y barra
     public void makeInvisible() {
-        for (StoreBase s : stores) s.makeInvisible();
-        for (RobotBase r : robots) r.makeInvisible();
-        board.makeInvisible();
-
-        if (isBarReady()) {
-            profitBarBackground.makeInvisible();
-            profitBarFill.makeInvisible();
-        }
-        showing = false;
+        if (view != null) view.makeInvisible();
     }
 
-    // Devuelve el robot más rico
+    // Devuelve el robot más rico (el colocado antes si empatan), o null si no hay robots
     public RobotBase getRichestRobot() {
-        if (robots.isEmpty()) return null;
-        RobotBase richest = robots.get(0);
-        for (RobotBase r : robots) if (r.getEarnings() > richest.getEarnings()) richest = r;
-        return richest;
+        int id = leaders.leader();
+        return id < 0 ? null : robotsById.get(id);
+    }
+
+    // Devuelve los k robots más ricos, de mayor a menor (sin ordenar toda la lista)
+    public List<RobotBase> topK(int k) {
+        List<RobotBase> top = new ArrayList<>();
+        for (int id : leaders.topK(k)) top.add(robotsById.get(id));
+        return top;
     }
 
     // Verifica si ya existe una tienda en esa posición
     private boolean storeExistsAt(int location) {
-        for (StoreBase s : stores) if (s.getPosition() == location) return true;
-        return false;
+        return storesByPosition.contains(location);
     }
 
     // Coloca una tienda en el tablero
     public void placeStore(int location, String type, int tenges) {
+        record(RoadJournal.PLACE_STORE, location, RoadJournal.typeCode(RoadJournal.STORE_TYPES, type), tenges);
         if (storeExistsAt(location)) { lastOperationOk = false; return; }
 
-        ensureBoardCanFitForLocation(location);
-        int[] rcBoard = boardCoordsForLocation(location);
-
-        StoreBase newStore;
-        switch (type.toLowerCase()) {
-            case "autonomous" -> newStore = new AutonomousStore(location, tenges);
-            case "fighter"    -> newStore = new FighterStore(location, tenges);
-            default           -> newStore = new Store(location, tenges);
-        }
+        ensureRouteFitsLocation(location);
 
+        StoreBase newStore = newStore(type, location, tenges);
         newStore.setRoad(this);
-        newStore.moveStore(rcBoard[0], rcBoard[1]);
+        addStore(newStore);
+        lastOperationOk = true;
+    }
+
+    // Crea una tienda del tipo dado (los tipos desconocidos son tiendas normales)
+    private static StoreBase newStore(String type, int location, int tenges) {
+        return switch (type.toLowerCase()) {
+            case "autonomous" -> new AutonomousStore(location, tenges);
+            case "fighter"    -> new FighterStore(location, tenges);
+            default           -> new Store(location, tenges);
+        };
+    }
+
+    // Registra una tienda ya ubicada en la ruta, el índice y la tabla, y avisa a los suscriptores
+    private void addStore(StoreBase newStore) {
         newStore.setColor(storeColors[stores.size() % storeColors.length]);
 
         stores.add(newStore);
+        storesByPosition.put(newStore.getPosition(), newStore);
+        if (newStore.getPosition() >= 0) occupiedByStores.set(newStore.getPosition());
+        indexStore(newStore);
 
-        if (showing) {
-            newStore.makeVisible();
-            resyncVisuals();
-        }
-        lastOperationOk = true;
+        for (RoadListener l : listeners) l.storePlaced(newStore);
+    }
+
+    // Da a una tienda de la lista su id en el índice y su fila en la tabla (fila = roadId)
+    private void indexStore(StoreBase store) {
+        store.roadId = moves.addStore(store.getPosition(), store.getTenges(), store.servesRicherOnly());
+        store.moveInto(storeTable);
+        storesById.add(store);
     }
 
     // Coloca tienda normal
@@ -153,332 +163,283 @@ public class SilkRoad {
 
     // Coloca un robot en el tablero
     public void placeRobot(int location, String type) {
-        ensureBoardCanFitForLocation(location);
-        int[] rcBoard = boardCoordsForLocation(location);
-
-        RobotBase newRobot;
-        switch (type.toLowerCase()) {
-            case "neverback" -> newRobot = new NeverBackRobot(location, 0);
-            case "tender"    -> newRobot = new TenderRobot(location, 0);
-            default          -> newRobot = new Robot(location, 0);
-        }
+        record(RoadJournal.PLACE_ROBOT, location, RoadJournal.typeCode(RoadJournal.ROBOT_TYPES, type), 0);
+        ensureRouteFitsLocation(location);
 
+        RobotBase newRobot = newRobot(type, location);
         newRobot.setRoad(this);
-        newRobot.moveRobot(rcBoard[0], rcBoard[1]);
-        robots.add(newRobot);
-
-        if (showing) {
-            newRobot.makeVisible();
-            resyncVisuals();
-        }
+        addRobot(newRobot);
         lastOperationOk = true;
     }
 
+    // Crea un robot del tipo dado (los tipos desconocidos son robots normales)
+    private static RobotBase newRobot(String type, int location) {
+        return switch (type.toLowerCase()) {
+            case "neverback" -> new NeverBackRobot(location, 0);
+            case "tender"    -> new TenderRobot(location, 0);
+            default          -> new Robot(location, 0);
+        };
+    }
+
+    // Registra un robot en la ruta, el índice, la tabla y la clasificación, y avisa a los suscriptores
+    private void addRobot(RobotBase newRobot) {
+        robots.add(newRobot);
+        indexRobot(newRobot);
+
+        for (RoadListener l : listeners) l.robotPlaced(newRobot);
+    }
+
+    // Da a un robot de la lista su id en el índice, su fila en la tabla y su lugar en la clasificación
+    private void indexRobot(RobotBase robot) {
+        robot.roadId = moves.addRobot(robot.getPosition(), robot.moveKind());
+        robot.moveInto(robotTable);
+        robotsById.add(robot);
+        moves.setRobotEarnings(robot.roadId, robot.getEarnings());
+        leaders.add(robot.roadId, robot.getEarnings());
+    }
+
+    // Si las filas quitadas superan a las vivas, renumera robots y tiendas colocados en orden
+    // de colocación (como readState): tablas, índice y clasificación vuelven a tener solo
+    // filas vivas, así reabastecer, devolver robots y reiniciar no recorren entidades que ya
+    // no existen. Reconstruir cuesta O(n log n) cada max(n, 256) bajas: O(log n) por baja,
+    // y una ruta pequeña no se reconstruye a cada rato
+    private void compactIfSparse() {
+        boolean sparseStores = storeTable.size - stores.size() > Math.max(stores.size(), 256);
+        boolean sparseRobots = robotTable.size - robots.size() > Math.max(robots.size(), 256);
+        if (!sparseStores && !sparseRobots) return;
+        moves = new BestMoveIndex();
+        leaders = new LeaderBoard();
+        storeTable = new StoreTable(Math.max(16, stores.size()));
+        robotTable = new RobotTable(Math.max(16, robots.size()));
+        storesById.clear();
+        robotsById.clear();
+        for (StoreBase s : stores) indexStore(s);
+        for (RobotBase r : robots) indexRobot(r);
+    }
+
     // Coloca robot normal
     public void placeRobot(int position) { placeRobot(position, "normal"); }
 
     // Elimina tienda
     public void removeStore(int location) {
-        boolean removed = stores.removeIf(s -> {
-            if (s.getPosition() == location) {
-                s.makeInvisible();
-                return true;
-            }
-            return false;
-        });
-        lastOperationOk = removed;
+        record(RoadJournal.REMOVE_STORE, location, 0, 0);
+        StoreBase s = storesByPosition.remove(location);
+        if (s == null) { lastOperationOk = false; return; }
+        stores.remove(s);
+        if (location >= 0) occupiedByStores.clear(location);
+        moves.removeStore(s.roadId);
+        storesById.set(s.roadId, null);
+        s.moveInto(new StoreTable(1));   // se lleva su estado; su fila en la ruta queda sin uso
+        compactIfSparse();
+        for (RoadListener l : listeners) l.storeRemoved(s);
+        lastOperationOk = true;
     }
 
     // Elimina robot
     public void removeRobot(int location) {
-        boolean removed = robots.removeIf(r -> {
+        record(RoadJournal.REMOVE_ROBOT, location, 0, 0);
+        List<RobotBase> removed = new ArrayList<>();
+        robots.removeIf(r -> {
             if (r.getInitialPosition() == location) {
-                r.makeInvisible();
+                moves.removeRobot(r.roadId);
+                leaders.remove(r.roadId);
+                robotsById.set(r.roadId, null);
+                r.moveInto(new RobotTable(1));
+                removed.add(r);
                 return true;
             }
             return false;
         });
-        lastOperationOk = removed;
+        compactIfSparse();
+        for (RobotBase r : removed) {
+            for (RoadListener l : listeners) l.robotRemoved(r);
+        }
+        lastOperationOk = !removed.isEmpty();
     }
-    // Mueve un robot manualmente según su posición y distancia
+
+    // Mueve un robot manualmente según su posición y distancia (busca en la tabla de
+    // posiciones por orden de colocación; las filas de robots quitados se saltan)
     public void moveRobot(int currentPosition, int meters) {
-        for (RobotBase r : robots) {
-            if (r.getPosition() == currentPosition) {
+        record(RoadJournal.MOVE_ROBOT, currentPosition, meters, 0);
+        int[] position = robotTable.position;
+        for (int id = 0; id < robotTable.size; id++) {
+            if (position[id] == currentPosition && robotsById.get(id) != null) {
                 int newLocation = currentPosition + meters;
-                if (!insideVisibleTarget(newLocation)) ensureBoardCanFitForLocation(newLocation);
-                r.currentPosition = newLocation;
-
-                int[] rcBoard = boardCoordsForLocation(newLocation);
-                r.moveRobot(rcBoard[0], rcBoard[1]);
-                r.makeVisible();
-
-                for (StoreBase s : stores) {
-                    if (s.getPosition() == newLocation && s.getTenges() > 0) {
-                        int collected = s.getTenges();
-                        s.emptyOnce();
-                        int gain = collected - Math.abs(meters);
-                        if (gain > 0) {
-                            profit += gain;
-                            updateProfitBar();
-                            r.addEarnings(gain);
-                        }
-                    }
-                }
-                resyncVisuals();
-                lastOperationOk = true;
+                lastOperationOk = moveAndCollect(robotsById.get(id), newLocation);
                 return;
             }
         }
         lastOperationOk = false;
     }
 
-    // Mueve automáticamente el robot que más ganancia puede obtener
+    // Mueve automáticamente el robot que más ganancia puede obtener (el índice solo
+    // propone pares que los tipos del robot y de la tienda permiten)
     public void moveRobot() {
-        int bestGain = Integer.MIN_VALUE;
-        RobotBase bestRobot = null;
-        StoreBase bestStore = null;
-
-        for (RobotBase r : robots) {
-            for (StoreBase s : stores) {
-                if (s.getTenges() <= 0) continue;
-                int dist = Math.abs(r.getPosition() - s.getPosition());
-                int gain = s.getTenges() - dist;
-                if (gain > bestGain) {
-                    bestGain = gain;
-                    bestRobot = r;
-                    bestStore = s;
-                }
-            }
-        }
-
-        if (bestRobot == null || bestStore == null || bestGain <= 0) {
+        record(RoadJournal.MOVE_BEST, 0, 0, 0);
+        if (!moves.hasCandidate() || moves.getBestGain() <= 0) {
             lastOperationOk = false;
             return;
         }
+        RobotBase bestRobot = robotsById.get(moves.getBestRobot());
+        StoreBase bestStore = storesById.get(moves.getBestStore());
+        lastOperationOk = moveAndCollect(bestRobot, bestStore.getPosition());
+    }
 
-        int meters = bestStore.getPosition() - bestRobot.getPosition();
-        if (!insideVisibleTarget(bestStore.getPosition())) ensureBoardCanFitForLocation(bestStore.getPosition());
-        int[] rc = boardCoordsForLocation(bestStore.getPosition());
+    // Lleva un robot a una posición y cobra la tienda que haya allí; los tipos deciden
+    // por doble despacho si el robot puede ir (canMoveTo), si la tienda lo atiende
+    // (serve) y cuánto recoge (collectFrom). Devuelve false si el robot no puede ir
+    private boolean moveAndCollect(RobotBase robot, int to) {
+        if (!robot.canMoveTo(to)) return false;
+        int from = robot.getPosition();
+        robot.moveTo(to);   // el robot avisa a robotMoved, que actualiza índice y vista
 
-        bestRobot.currentPosition = bestStore.getPosition();
-        bestRobot.moveRobot(rc[0], rc[1]);
+        StoreBase store = storesByPosition.get(to);
+        if (store == null || store.getTenges() <= 0) return true;
 
-        int collected = bestStore.getTenges();
-        bestStore.emptyOnce();
-        int gain = collected - Math.abs(meters);
+        int collected = store.serve(robot);   // la tienda avisa a storeChanged
+        if (collected <= 0) return true;
+        for (RoadListener l : listeners) l.storeEmptied(store);
 
+        int gain = collected - Math.abs(to - from);
         if (gain > 0) {
-            bestRobot.addEarnings(gain);
+            robot.addEarnings(gain);
             profit += gain;
-            updateProfitBar();
+            fireProfitChanged();
         }
-
-        resyncVisuals();
-        lastOperationOk = true;
+        return true;
     }
 
-    // Restaura todas las tiendas a su dinero inicial
+    // Restaura todas las tiendas a su dinero inicial (una copia de arreglo; las filas de
+    // tiendas quitadas se copian también pero el índice las ignora)
     public void resupplyStores() {
-        for (StoreBase s : stores) s.resupply();
+        record(RoadJournal.RESUPPLY, 0, 0, 0);
+        refillStores();
         lastOperationOk = true;
     }
 
-    // Devuelve todos los robots a su posición inicial
-    public void returnRobots() {
-        for (RobotBase r : robots) {
-            r.reset();
-            int loc = r.getInitialPosition();
-            ensureBoardCanFitForLocation(loc);
-            int[] rc = boardCoordsForLocation(loc);
-            r.moveRobot(rc[0], rc[1]);
-            r.makeVisible();
-        }
-        lastOperationOk = true;
+    // Reabastece todas las tiendas y lo avisa a los suscriptores
+    private void refillStores() {
+        storeTable.resupplyAll();
+        int[] tenges = storeTable.tenges;
+        for (int id = 0; id < storeTable.size; id++) moves.setStoreTenges(id, tenges[id]);
+        for (RoadListener l : listeners) l.storesResupplied();
     }
 
-    // Reinicia todo: tiendas, robots y ganancias
-    public void reboot() {
-        resupplyStores();
-        returnRobots();
-        profit = 0;
-        updateProfitBar();
+    // Devuelve todos los robots a su posición inicial (recorre la tabla, no los objetos;
+    // las posiciones previas y los eventos con cada robot solo se arman si hay suscriptores)
+    public void returnRobots() {
+        record(RoadJournal.RETURN_ROBOTS, 0, 0, 0);
+        sendRobotsHome();
         lastOperationOk = true;
     }
 
-    // Actualiza la barra de ganancias
-    private void updateProfitBar() {
-        if (!showing) return;
-        int fillHeight = (int) (200.0 * profit / MAX_PROFIT);
-        if (fillHeight > 200) fillHeight = 200;
-        profitBarFill.changeSize(20, Math.max(fillHeight, 0));
-
-        if (profit != lastPrintedProfit) {
-            System.out.println("Profit actual: " + profit);
-            lastPrintedProfit = profit;
+    // Lleva cada robot a su inicio con ganancias en 0 y lo avisa a los suscriptores
+    private void sendRobotsHome() {
+        int[] from = listeners.length == 0 ? null : Arrays.copyOf(robotTable.position, robotTable.size);
+        robotTable.resetAll();
+        int[] position = robotTable.position;
+        for (int id = 0; id < robotTable.size; id++) {
+            moves.moveRobot(id, position[id]);
+            moves.setRobotEarnings(id, 0);
+            leaders.update(id, 0);
+        }
+        for (int i = 0; from != null && i < robots.size(); i++) {
+            RobotBase r = robots.get(i);
+            ensureRouteFitsLocation(r.getInitialPosition());
+            for (RoadListener l : listeners) l.robotMoved(r, from[r.row], r.getPosition());
         }
     }
 
-    // Verifica si la barra está lista
-    private boolean isBarReady() {
-        return profitBarBackground != null && profitBarFill != null;
+    // Reinicia todo: tiendas, robots y ganancias
+    public void reboot() {
+        record(RoadJournal.REBOOT, 0, 0, 0);
+        refillStores();
+        sendRobotsHome();
+        profit = 0;
+        fireProfitChanged();
+        lastOperationOk = true;
     }
 
-    // Coloca la barra sobre el tablero
-    private void layoutProfitBarAboveBoard() {
-        profitBarBackground.moveHorizontal(0);
-        profitBarBackground.moveVertical(0);
-        profitBarFill.moveHorizontal(0);
-        profitBarFill.moveVertical(0);
+    // Avisa a los suscriptores el valor actual de la ganancia
+    private void fireProfitChanged() {
+        for (RoadListener l : listeners) l.profitChanged(profit);
     }
 
     // Convierte posición lógica a coordenadas en espiral
     public int[] locationToCoords(int location) {
-        if (location == 0) return new int[]{0, 0};
-        int r = 0, c = 0;
-        final int[] dr = {0, +1, 0, -1};
-        final int[] dc = {+1, 0, -1, 0};
-        int dir = 0, segLen = 1, used = 0, steps = location;
-        while (steps-- > 0) {
-            r += dr[dir];
-            c += dc[dir];
-            used++;
-            if (used == segLen) {
-                used = 0;
-                dir = (dir + 1) % 4;
-                if (dir % 2 == 0) segLen++;
-            }
-        }
-        return new int[]{r, c};
-    }
-
-    // Convierte coordenadas lógicas a tablero
-    private int[] boardCoordsFromLogical(int rLog, int cLog) {
-        return new int[]{rLog + originRow, cLog + originCol};
-    }
-
-    // Devuelve coordenadas de tablero para una posición
-    private int[] boardCoordsForLocation(int location) {
-        int[] rcLog = locationToCoords(location);
-        return boardCoordsFromLogical(rcLog[0], rcLog[1]);
-    }
-    // Ajusta el tablero para crecer hasta cubrir la espiral visible
-    private void preGrowToVisibleTarget() {
-        int minR = 0, maxR = 0, minC = 0, maxC = 0;
-        for (int i = 0; i < visibleTarget; i++) {
-            int[] rc = locationToCoords(i);
-            minR = Math.min(minR, rc[0]);
-            maxR = Math.max(maxR, rc[0]);
-            minC = Math.min(minC, rc[1]);
-            maxC = Math.max(maxC, rc[1]);
-        }
-
-        originRow = -minR;
-        originCol = -minC;
-
-        int needRows = maxR - minR + 1;
-        int needCols = maxC - minC + 1;
-
-        if (needRows > board.getRows() || needCols > board.getCols()) {
-            boolean wasVisible = showing;
-            if (wasVisible) board.makeInvisible();
-            board = new Board(needRows, needCols);
-            if (wasVisible) board.makeVisible();
-            if (wasVisible) resyncVisuals();
-            if (isBarReady()) layoutProfitBarAboveBoard();
-        }
+        return SpiralGeometry.locationToCoords(location);
     }
 
-    // Aplica máscara de visibilidad para las primeras N celdas
-    private void applyVisibleMaskForFirstN() {
-        int rows = board.getRows();
-        int cols = board.getCols();
-        boolean[][] mask = new boolean[rows][cols];
-        for (int i = 0; i < visibleTarget; i++) {
-            int[] rc = locationToCoords(i);
-            int br = rc[0] + originRow;
-            int bc = rc[1] + originCol;
-            if (br >= 0 && br < rows && bc >= 0 && bc < cols) mask[br][bc] = true;
-        }
-        board.setVisibleCells(mask);
+    // Convierte posición lógica a coordenadas en espiral empaquetadas (sin crear arreglos)
+    public long packedCoords(int location) {
+        return SpiralGeometry.packedCoords(location);
     }
 
-    // Asegura que el tablero pueda mostrar una posición dada
-    private void ensureBoardCanFitForLocation(int location) {
+    // Extiende la ruta para que incluya una posición y avisa a los suscriptores
+    private void ensureRouteFitsLocation(int location) {
         if (location + 1 > visibleTarget) {
             visibleTarget = location + 1;
-            preGrowToVisibleTarget();
-            applyVisibleMaskForFirstN();
+            for (RoadListener l : listeners) l.routeExtended(visibleTarget);
         }
-        int[] rcLog = locationToCoords(location);
-        ensureBoardCanFitLogical(rcLog[0], rcLog[1]);
-        applyVisibleMaskForFirstN();
-        layoutProfitBarAboveBoard();
     }
 
-    // Ajusta tablero para coordenadas lógicas específicas
-    private void ensureBoardCanFitLogical(int rLog, int cLog) {
-        int br = rLog + originRow;
-        int bc = cLog + originCol;
-
-        int newRows = board.getRows();
-        int newCols = board.getCols();
-        int addTop = 0, addLeft = 0;
-
-        if (br < 0) { addTop = -br; originRow += addTop; newRows += addTop; br = 0; }
-        if (bc < 0) { addLeft = -bc; originCol += addLeft; newCols += addLeft; bc = 0; }
-        if (br >= newRows) newRows = br + 1;
-        if (bc >= newCols) newCols = bc + 1;
-
-        if (newRows == board.getRows() && newCols == board.getCols() && addTop == 0 && addLeft == 0) return;
-
-        boolean wasVisible = showing;
-        if (wasVisible) board.makeInvisible();
+    // Verifica si una posición está dentro del rango visible
+    private boolean insideVisibleTarget(int loc) {
+        return loc >= 0 && loc < visibleTarget;
+    }
 
-        board = new Board(newRows, newCols);
+    // Un robot cambió de posición (por una operación de la ruta o llamando directamente a
+    // move, moveTo o reset): lo refleja en el índice de movimientos y avisa a los suscriptores
+    void robotMoved(RobotBase robot, int from) {
+        if (!isPlaced(robot)) return;
+        int to = robot.getPosition();
+        if (!insideVisibleTarget(to)) ensureRouteFitsLocation(to);
+        moves.moveRobot(robot.roadId, to);
+        for (RoadListener l : listeners) l.robotMoved(robot, from, to);
+    }
 
-        if (wasVisible) {
-            board.makeVisible();
-            resyncVisuals();
+    // Una tienda cambió su dinero (al atender a un robot o llamando directamente a withdraw,
+    // emptyOnce o resupply): lo refleja en el índice de movimientos
+    void storeChanged(StoreBase store) {
+        if (store.roadId >= 0 && store.roadId < storesById.size() && storesById.get(store.roadId) == store) {
+            moves.setStoreTenges(store.roadId, store.getTenges());
         }
-        if (isBarReady()) layoutProfitBarAboveBoard();
     }
 
-    // Verifica si una posición está dentro del rango visible
-    private boolean insideVisibleTarget(int loc) {
-        return loc >= 0 && loc < visibleTarget;
+    // Indica si el robot sigue colocado en esta ruta (los quitados conservan su roadId)
+    private boolean isPlaced(RobotBase robot) {
+        return robot.roadId >= 0 && robot.roadId < robotsById.size() && robotsById.get(robot.roadId) == robot;
     }
 
-    // Re-sincroniza visuales de tiendas y robots
-    private void resyncVisuals() {
-        for (StoreBase s : stores) {
-            int[] rc = boardCoordsForLocation(s.getPosition());
-            s.moveStore(rc[0], rc[1]);
-            s.makeVisible();
-        }
-        for (RobotBase rr : robots) {
-            int[] rc = boardCoordsForLocation(rr.getPosition());
-            rr.moveRobot(rc[0], rc[1]);
-            rr.makeVisible();
+    // Un robot sumó ganancias: las refleja en el índice (tiendas fighter) y en la clasificación
+    void earningsChanged(RobotBase robot) {
+        if (isPlaced(robot)) {
+            moves.setRobotEarnings(robot.roadId, robot.getEarnings());
+            leaders.update(robot.roadId, robot.getEarnings());
         }
+        updateLeader();
     }
 
-    // Actualiza el robot líder (más rico) y lo hace parpadear
+    // Actualiza el robot líder (más rico) y avisa el cambio a los suscriptores
     public void updateLeader() {
-        if (robots.isEmpty()) return;
-        RobotBase leader = robots.get(0);
-        for (RobotBase r : robots) if (r.getEarnings() > leader.getEarnings()) leader = r;
+        RobotBase leader = getRichestRobot();
+        if (leader == null) return;
 
         if (leader != currentLeader) {
-            if (currentLeader != null) currentLeader.setBlinking(false);
-            leader.setBlinking(true);
+            RobotBase previous = currentLeader;
             currentLeader = leader;
+            for (RoadListener l : listeners) l.leaderChanged(previous, leader);
         }
     }
 
     // Verifica si una celda está libre para colocar tienda
     public boolean isFreeForStore(int loc) {
-        for (StoreBase s : stores) if (s.getPosition() == loc) return false;
-        return true;
+        return !storesByPosition.contains(loc);
+    }
+
+    // Primera posición libre para tienda desde from (from >= 0), sin recorrer las tiendas
+    public int nextFreeForStore(int from) {
+        return occupiedByStores.nextClearBit(from);
     }
 
     // Devuelve tamaño actual de la ruta
@@ -496,8 +457,87 @@ public class SilkRoad {
         return new java.util.ArrayList<>(robots);
     }
 
+    // Suscribe un listener a los eventos de la ruta
+    public void addListener(RoadListener listener) {
+        if (listener == null || Arrays.asList(listeners).contains(listener)) return;
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    // Cancela la suscripción de un listener
+    public void removeListener(RoadListener listener) {
+        List<RoadListener> rest = new ArrayList<>(Arrays.asList(listeners));
+        rest.remove(listener);
+        listeners = rest.toArray(new RoadListener[0]);
+    }
+
     // Devuelve copia de la lista de tiendas
     public java.util.List<StoreBase> getStores() {
         return new java.util.ArrayList<>(stores);
     }
+
+    // --- Diario y fotos del estado ---
+
+    // Enlaza un diario: desde ahora cada operación pública queda registrada en él
+    public void setJournal(RoadJournal journal) {
+        if (this.journal != null) throw new IllegalStateException("Road already has a journal");
+        this.journal = journal;
+        journal.begin(this);
+    }
+
+    // Registra una operación en el diario, si hay uno
+    private void record(byte op, int a, int b, int c) {
+        if (journal != null) journal.record(op, a, b, c);
+    }
+
+    // Escribe el estado lógico completo: ruta, ganancia y tiendas y robots en orden de
+    // colocación (los ids del índice se renumeran al leer pero conservan su orden)
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(initialLength);
+        out.writeInt(visibleTarget);
+        out.writeInt(profit);
+        out.writeBoolean(lastOperationOk);
+        out.writeInt(stores.size());
+        for (StoreBase s : stores) {
+            out.writeByte(RoadJournal.typeCode(RoadJournal.STORE_TYPES, s.getType()));
+            out.writeInt(s.getPosition());
+            out.writeInt(s.table.initialTenges[s.row]);
+            out.writeInt(s.getTenges());
+            out.writeInt(s.getTimesEmptied());
+        }
+        out.writeInt(robots.size());
+        for (RobotBase r : robots) {
+            out.writeByte(RoadJournal.typeCode(RoadJournal.ROBOT_TYPES, r.getType()));
+            out.writeInt(r.getInitialPosition());
+            out.writeInt(r.getPosition());
+            out.writeInt(r.getEarnings());
+        }
+    }
+
+    // Crea una ruta sin vista con el estado escrito por writeState (las tiendas no se
+    // recolocan: ya están donde quedaron)
+    static SilkRoad readState(DataInput in) throws IOException {
+        SilkRoad road = headless(in.readInt());
+        road.visibleTarget = in.readInt();
+        road.profit = in.readInt();
+        road.lastOperationOk = in.readBoolean();
+        for (int i = in.readInt(); i > 0; i--) {
+            String type = RoadJournal.STORE_TYPES[in.readByte()];
+            StoreBase s = newStore(type, in.readInt(), in.readInt());
+            s.table.tenges[s.row] = in.readInt();
+            s.table.timesEmptied[s.row] = in.readInt();
+            s.road = road;
+            road.addStore(s);
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            String type = RoadJournal.ROBOT_TYPES[in.readByte()];
+            RobotBase r = newRobot(type, in.readInt());
+            r.table.position[r.row] = in.readInt();
+            r.table.earnings[r.row] = in.readInt();
+            r.setRoad(road);
+            road.addRobot(r);
+        }
+        road.updateLeader();
+        return road;
+    }
 }
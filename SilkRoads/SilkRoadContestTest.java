@@ -67,8 +67,9 @@ public class SilkRoadContestTest {
     }
 
     // Ejecuta la simulación lógica sin gráficos y devuelve ganancias acumuladas por día
+    // (sin volcar el estado de cada día: es el camino por lotes y no escribe por día)
     public int[] resolverSimulacion(int[][] accionesPorDia) {
-        SilkRoad camino = new SilkRoad(20);
+        SilkRoad camino = SilkRoad.headless(20);
         int[] resultados = new int[accionesPorDia.length];
 
         for (int i = 0; i < accionesPorDia.length; i++) {
@@ -86,7 +87,6 @@ public class SilkRoadContestTest {
 
             camino.moveRobot();
             resultados[i] = camino.getProfit();
-            mostrarEstadoDia(camino, i + 1);
         }
 
         return resultados;
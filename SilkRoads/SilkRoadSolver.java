@@ -0,0 +1,120 @@
+package SilkRoads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Clase SilkRoadSolver: resuelve la simulación del concurso día por día sin objetos
+ * de dominio ni salida por consola.
+ * Recibe el mismo formato que SilkRoadContestTest.resolverSimulacion ({tipo, posición,
+ * cantidad} por día; 1 = robot normal, 2 = tienda, 3 = robot tender, 4 = robot
+ * neverback) y devuelve la ganancia acumulada al final de cada día, con las mismas reglas
+ * por tipo que SilkRoad (el tender recoge la mitad, el neverback no retrocede).
+ *
+ * El estado es solo el BestMoveIndex (arreglos primitivos): cada día cuesta O(log n).
+ * Cuando se conoce la entrada completa, el índice se construye sobre sus posiciones
+ * comprimidas, lo que lo hace mucho más compacto: con posiciones dentro de 1e5 un millón
+ * de días toma menos de un segundo; dispersas en 1e9 el árbol (2^20 hojas) no cabe en caché
+ * y cada día paga unas decenas de fallos de memoria (~3 µs). Para entradas enormes, solve(in, out)
+ * lee las acciones en streaming (ActionReader) y escribe cada resultado al vuelo.
+ */
+public class SilkRoadSolver {
+
+    private final BestMoveIndex moves;
+    private long profit;
+
+    // Constructor: solver para días que llegan uno a uno (cualquier posición)
+    public SilkRoadSolver() {
+        this.moves = new BestMoveIndex();
+    }
+
+    // Constructor: solver que solo recibirá acciones en las posiciones dadas
+    public SilkRoadSolver(int[] positions) {
+        this.moves = BestMoveIndex.forPositions(positions);
+    }
+
+    // Resuelve todos los días y devuelve la ganancia acumulada de cada uno
+    public static long[] solve(int[][] actionsPerDay) {
+        int[] positions = new int[actionsPerDay.length];
+        for (int day = 0; day < actionsPerDay.length; day++) positions[day] = actionsPerDay[day][1];
+
+        SilkRoadSolver solver = new SilkRoadSolver(positions);
+        long[] profits = new long[actionsPerDay.length];
+        for (int day = 0; day < actionsPerDay.length; day++) {
+            int[] action = actionsPerDay[day];
+            profits[day] = solver.day(action[0], action[1], action.length > 2 ? action[2] : 0);
+        }
+        return profits;
+    }
+
+    // Resuelve las acciones de un flujo (una por línea) y escribe la ganancia de cada día
+    // en out a medida que avanza; devuelve cuántos días procesó
+    public static long solve(InputStream in, OutputStream out) throws IOException {
+        ActionReader reader = new ActionReader(in);
+        SilkRoadSolver solver = new SilkRoadSolver();
+        byte[] buffer = new byte[1 << 16];
+        int used = 0;
+        long days = 0;
+        while (reader.next()) {
+            long profit = solver.day(reader.getType(), reader.getPosition(), reader.getAmount());
+            if (used > buffer.length - 21) {
+                out.write(buffer, 0, used);
+                used = 0;
+            }
+            used = writeLine(profit, buffer, used);
+            days++;
+        }
+        out.write(buffer, 0, used);
+        out.flush();
+        return days;
+    }
+
+    // Escribe un long en decimal seguido de salto de línea; devuelve la nueva posición
+    private static int writeLine(long value, byte[] buffer, int at) {
+        if (value < 0) {
+            buffer[at++] = '-';
+            value = -value;
+        }
+        int start = at;
+        do {
+            buffer[at++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = at - 1; i < j; i++, j--) {
+            byte t = buffer[i]; buffer[i] = buffer[j]; buffer[j] = t;
+        }
+        buffer[at++] = '\n';
+        return at;
+    }
+
+    // Aplica la acción de un día y el movimiento automático; devuelve la ganancia acumulada
+    public long day(int type, int position, int amount) {
+        switch (type) {
+            case 1 -> moves.addRobot(position, BestMoveIndex.NORMAL);
+            case 3 -> moves.addRobot(position, BestMoveIndex.TENDER);
+            case 4 -> moves.addRobot(position, BestMoveIndex.NEVER_BACK);
+            case 2 -> {
+                if (moves.getStoreAt(position) < 0) moves.addStore(position, amount);
+            }
+            default -> { }   // tipo no reconocido: el día solo hace el movimiento automático
+        }
+        moveBest();
+        return profit;
+    }
+
+    // Devuelve la ganancia acumulada hasta ahora
+    public long getProfit() { return profit; }
+
+    // Lleva al mejor robot a la mejor tienda y cobra, como SilkRoad.moveRobot() (el tender
+    // se lleva la mitad y deja el resto en la tienda)
+    private void moveBest() {
+        if (!moves.hasCandidate() || moves.getBestGain() <= 0) return;
+        int robot = moves.getBestRobot();
+        int store = moves.getBestStore();
+        int tenges = moves.getStoreTenges(store);
+        int taken = moves.getRobotKind(robot) == BestMoveIndex.TENDER ? tenges / 2 : tenges;
+        profit += moves.getBestGain();
+        moves.collect(robot, store, tenges - taken);
+    }
+}
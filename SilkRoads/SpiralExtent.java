@@ -0,0 +1,54 @@
+package SilkRoads;
+
+/**
+ * Clase SpiralExtent: mantiene el rectángulo mínimo (filas y columnas lógicas)
+ * que cubre las primeras N posiciones de la espiral.
+ * Crecer de N a N+k posiciones solo recorre las k posiciones nuevas.
+ */
+public class SpiralExtent {
+
+    private int count;   // posiciones ya incluidas [0, count)
+    private int minRow;
+    private int maxRow;
+    private int minCol;
+    private int maxCol;
+
+    // Constructor: la extensión inicial cubre solo la posición 0
+    public SpiralExtent() {
+        this.count = 1;
+    }
+
+    // Extiende el rectángulo para cubrir las posiciones [0, target)
+    public void extendTo(int target) {
+        for (int i = count; i < target; i++) {
+            long rc = SpiralGeometry.packedCoords(i);
+            int r = SpiralGeometry.row(rc), c = SpiralGeometry.col(rc);
+            if (r < minRow) minRow = r;
+            if (r > maxRow) maxRow = r;
+            if (c < minCol) minCol = c;
+            if (c > maxCol) maxCol = c;
+        }
+        if (target > count) count = target;
+    }
+
+    // Devuelve cuántas posiciones cubre el rectángulo
+    public int getCount() { return count; }
+
+    // Devuelve la fila lógica mínima
+    public int getMinRow() { return minRow; }
+
+    // Devuelve la fila lógica máxima
+    public int getMaxRow() { return maxRow; }
+
+    // Devuelve la columna lógica mínima
+    public int getMinCol() { return minCol; }
+
+    // Devuelve la columna lógica máxima
+    public int getMaxCol() { return maxCol; }
+
+    // Devuelve el número de filas necesarias
+    public int getRows() { return maxRow - minRow + 1; }
+
+    // Devuelve el número de columnas necesarias
+    public int getCols() { return maxCol - minCol + 1; }
+}
@@ -0,0 +1,100 @@
+package SilkRoads;
+
+/**
+ * Clase SpiralGeometry: mapea posiciones lógicas de la ruta a coordenadas
+ * (fila, columna) de la espiral y viceversa en tiempo constante.
+ *
+ * La espiral arranca en (0, 0) y avanza derecha, abajo, izquierda, arriba
+ * con tramos de longitud 1, 1, 2, 2, 3, 3, ... Cada par de tramos de longitud j
+ * termina en la posición j(j+1), de modo que basta ubicar el par y el lado.
+ *
+ * Las coordenadas se devuelven empaquetadas en un long (fila en los 32 bits altos,
+ * columna en los bajos) para que los caminos frecuentes no creen arreglos.
+ */
+public final class SpiralGeometry {
+
+    // Clase utilitaria: no se instancia
+    private SpiralGeometry() {
+    }
+
+    // Convierte una posición lógica a coordenadas {fila, columna} de la espiral
+    public static int[] locationToCoords(int location) {
+        long rc = packedCoords(location);
+        return new int[]{row(rc), col(rc)};
+    }
+
+    // Convierte una posición lógica a coordenadas de la espiral empaquetadas (ver pack)
+    public static long packedCoords(int location) {
+        if (location <= 0) return 0L;
+
+        // Mayor j con j(j+1) <= location: cantidad de pares de tramos completos
+        long loc = location;
+        long j = (long) ((Math.sqrt(4.0 * loc + 1) - 1) / 2);
+        while (j * (j + 1) > loc) j--;
+        while ((j + 1) * (j + 2) <= loc) j++;
+
+        // Esquina donde termina el par j
+        long r, c;
+        if (j % 2 == 1) {
+            r = (j + 1) / 2;
+            c = (j + 1) / 2;
+        } else {
+            r = -j / 2;
+            c = -j / 2;
+        }
+
+        // El par j+1 avanza (derecha, abajo) si es impar o (izquierda, arriba) si es par
+        long len = j + 1;
+        long rem = loc - j * (j + 1);
+        long first = Math.min(rem, len);
+        long second = rem - first;
+        if (len % 2 == 1) {
+            c += first;
+            r += second;
+        } else {
+            c -= first;
+            r -= second;
+        }
+        return pack((int) r, (int) c);
+    }
+
+    // Empaqueta fila y columna en un long sin crear objetos
+    public static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    // Fila de unas coordenadas empaquetadas
+    public static int row(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    // Columna de unas coordenadas empaquetadas
+    public static int col(long packed) {
+        return (int) packed;
+    }
+
+    // Convierte coordenadas de la espiral a posición lógica (inversa de locationToCoords)
+    public static int coordsToLocation(int row, int col) {
+        long r = row, c = col;
+        if (r == 0 && c == 0) return 0;
+
+        // Tramo hacia la derecha del par impar 2t+1: fila -t, columnas (-t, t+1]
+        long t = -r;
+        if (t >= 0 && c > -t && c <= t + 1) {
+            return (int) (2 * t * (2 * t + 1) + c + t);
+        }
+        // Tramo hacia abajo del par impar 2t+1: columna t+1, filas (-t, t+1]
+        t = c - 1;
+        if (t >= 0 && r > -t && r <= t + 1) {
+            return (int) (2 * t * (2 * t + 1) + (2 * t + 1) + r + t);
+        }
+        // Tramo hacia la izquierda del par par 2t: fila t, columnas [-t, t)
+        t = r;
+        if (t >= 1 && c >= -t && c < t) {
+            return (int) ((2 * t - 1) * 2 * t + t - c);
+        }
+        // Tramo hacia arriba del par par 2t: columna -t, filas [-t, t)
+        t = -c;
+        return (int) ((2 * t - 1) * 2 * t + 2 * t + t - r);
+    }
+}
@@ -7,93 +7,143 @@ import Shapes.*;
  * Define la estructura general de una tienda en el simulador SilkRoads.
  * Contiene atributos, tamaños, color, ganancias, visibilidad y lógica compartida.
  * Subclases: Store, AutonomousStore, FighterStore, etc.
+ *
+ * El estado lógico (posición, dinero, vaciados) vive en una fila de StoreTable; la
+ * tienda es una vista sobre esa fila. Suelta usa una tabla propia y al colocarse en
+ * un SilkRoad se muda a la tabla de la ruta.
  */
 public abstract class StoreBase {
 
-    // --- Estado lógico ---
+    // --- Estado lógico (fila row de table) ---
     protected String type;        // tipo de tienda
-    protected int position;       // posición lógica en la SilkRoad
-    protected int tenges;         // dinero actual disponible
-    protected int initialTenges;  // dinero inicial (para resupply)
-    protected int timesEmptied;   // número de veces vaciada
+    StoreTable table;             // posición, dinero actual e inicial, vaciados
+    int row;
     protected int drawRow = 0;    // fila dibujada
     protected int drawCol = 0;    // columna dibujada
+    protected int roadId = -1;    // id en el índice de movimientos del SilkRoad
 
     // --- Integración con el camino ---
     protected SilkRoad road;      // referencia al SilkRoad (opcional)
 
-    // --- Componentes visuales ---
+    // --- Componentes visuales (se crean al dibujar por primera vez) ---
     protected Rectangle base;
     protected Triangle roof;
+    protected String color = "magenta";   // color del rectángulo base
 
     // Constructor: inicializa tipo, posición y dinero de la tienda
     public StoreBase(String type, int position, int tenges) {
         this.type = type;
-        this.position = position;
-        this.tenges = tenges;
-        this.initialTenges = tenges;
-        this.timesEmptied = 0;
+        this.table = new StoreTable(1);
+        this.row = table.add(position, tenges, tenges, 0, false);
+    }
+
+    // Muda el estado de la tienda a otra tabla (la de un SilkRoad) y pasa a ser vista de esa fila
+    void moveInto(StoreTable target) {
+        int newRow = target.add(getPosition(), getTenges(), table.initialTenges[row], getTimesEmptied(), servesRicherOnly());
+        table = target;
+        row = newRow;
+    }
+
+    // Crea las formas de la tienda si aún no existen (una tienda headless nunca las crea)
+    protected void ensureShapes() {
+        if (base != null) return;
 
         // Configuración visual básica
         base = new Rectangle();
         roof = new Triangle();
-        base.changeColor("magenta");
+        base.changeColor(color);
         roof.changeColor("green");
+
+        // Lleva las formas a la última celda registrada (el techo va 20px arriba)
+        base.moveHorizontal(drawCol * 60);
+        base.moveVertical(drawRow * 60);
+        roof.moveHorizontal(drawCol * 60);
+        roof.moveVertical(drawRow * 60 - 20);
     }
 
     // Vacía la tienda una vez: devuelve el dinero y aumenta contador si había
     public int emptyOnce() {
-        if (tenges > 0) {
-            int collected = tenges;
-            tenges = 0;
-            timesEmptied++;
-            return collected;
-        }
-        return 0;
+        return withdraw(getTenges());
+    }
+
+    // Retira hasta amount tenges y devuelve lo retirado; si la tienda queda vacía cuenta como vaciada
+    public int withdraw(int amount) {
+        int tenges = table.tenges[row];
+        if (amount <= 0 || tenges <= 0) return 0;
+        int taken = Math.min(amount, tenges);
+        table.tenges[row] = tenges - taken;
+        if (taken == tenges) table.timesEmptied[row]++;
+        if (road != null) road.storeChanged(this);
+        return taken;
     }
 
-    // Restaura el dinero al valor inicial
+    // Atiende a un robot que llega: el robot decide cuánto recoge; devuelve lo entregado
+    public int serve(RobotBase robot) {
+        return robot.collectFrom(this);
+    }
+
+    // Indica si la tienda solo atiende a robots más ricos que ella (para el índice de movimientos)
+    boolean servesRicherOnly() {
+        return false;
+    }
+
+    // Restaura el dinero al valor inicial (y avisa al tablero para su índice de movimientos)
     public void resupply() {
-        tenges = initialTenges;
+        table.tenges[row] = table.initialTenges[row];
+        if (road != null) road.storeChanged(this);
     }
 
     // Devuelve el tipo de tienda
     public String getType() { return type; }
 
     // Devuelve la posición lógica
-    public int getPosition() { return position; }
+    public int getPosition() { return table.position[row]; }
+
+    // Cambia la posición lógica (antes de colocarse en la ruta)
+    protected void setPosition(int position) { table.position[row] = position; }
 
     // Devuelve el dinero actual
-    public int getTenges() { return tenges; }
+    public int getTenges() { return table.tenges[row]; }
 
     // Devuelve cuántas veces ha sido vaciada
-    public int getTimesEmptied() { return timesEmptied; }
+    public int getTimesEmptied() { return table.timesEmptied[row]; }
 
     // Hace visible la tienda en el tablero
     public void makeVisible() {
+        ensureShapes();
         base.makeVisible();
         roof.makeVisible();
     }
 
     // Oculta la tienda del tablero
     public void makeInvisible() {
+        if (base == null) return;
         base.makeInvisible();
         roof.makeInvisible();
     }
 
     // Mueve la tienda a una fila y columna específicas en el tablero
     public void moveStore(int row, int col) {
-        base.moveHorizontal(col * 60);
-        base.moveVertical(row * 60);
-        roof.moveHorizontal(col * 60);
-        roof.moveVertical(row * 60 - 20);
+        int dx = (col - drawCol) * 60;
+        int dy = (row - drawRow) * 60;
+        drawRow = row;
+        drawCol = col;
+        if (base == null) return;
+
+        base.moveHorizontal(dx);
+        base.moveVertical(dy);
+        roof.moveHorizontal(dx);
+        roof.moveVertical(dy);
     }
 
     // Cambia el color de la tienda (alias para compatibilidad)
     public void setColor(String color) { changeColor(color); }
 
     // Aplica un nuevo color al rectángulo base
-    public void changeColor(String color) { base.changeColor(color); }
+    public void changeColor(String color) {
+        this.color = color;
+        if (base != null) base.changeColor(color);
+    }
 
     // Asocia la tienda al tablero SilkRoad y dispara hook de colocación
     public final void attachToRoad(SilkRoad road) {
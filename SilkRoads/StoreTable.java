@@ -0,0 +1,52 @@
+package SilkRoads;
+
+import java.util.Arrays;
+
+/**
+ * Clase StoreTable: estado lógico de las tiendas en arreglos paralelos (struct-of-arrays).
+ * Cada tienda es una fila; StoreBase es una vista delgada que lee y escribe la suya.
+ * Una tienda suelta tiene una tabla propia de una fila y al colocarse en un SilkRoad se
+ * muda a la tabla de la ruta: reabastecer todas es una sola copia de arreglo.
+ */
+final class StoreTable {
+
+    int[] position;        // posición lógica en la SilkRoad
+    int[] tenges;          // dinero actual disponible
+    int[] initialTenges;   // dinero inicial (para resupply)
+    int[] timesEmptied;    // número de veces vaciada
+    boolean[] richerOnly;  // solo atiende a robots más ricos que ella
+    int size;
+
+    // Constructor: tabla vacía con la capacidad dada
+    StoreTable(int capacity) {
+        position = new int[capacity];
+        tenges = new int[capacity];
+        initialTenges = new int[capacity];
+        timesEmptied = new int[capacity];
+        richerOnly = new boolean[capacity];
+    }
+
+    // Agrega una fila y devuelve su número
+    int add(int position, int tenges, int initialTenges, int timesEmptied, boolean richerOnly) {
+        if (size == this.position.length) {
+            int capacity = Math.max(4, size * 2);
+            this.position = Arrays.copyOf(this.position, capacity);
+            this.tenges = Arrays.copyOf(this.tenges, capacity);
+            this.initialTenges = Arrays.copyOf(this.initialTenges, capacity);
+            this.timesEmptied = Arrays.copyOf(this.timesEmptied, capacity);
+            this.richerOnly = Arrays.copyOf(this.richerOnly, capacity);
+        }
+        int row = size++;
+        this.position[row] = position;
+        this.tenges[row] = tenges;
+        this.initialTenges[row] = initialTenges;
+        this.timesEmptied[row] = timesEmptied;
+        this.richerOnly[row] = richerOnly;
+        return row;
+    }
+
+    // Restaura el dinero inicial de todas las tiendas
+    void resupplyAll() {
+        System.arraycopy(initialTenges, 0, tenges, 0, size);
+    }
+}
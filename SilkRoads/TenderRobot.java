@@ -16,39 +16,24 @@ public class TenderRobot extends RobotBase {
     // Movimiento básico: avanza una posición hacia adelante como un robot normal
     @Override
     public void move() {
-        currentPosition += 1;
+        setPosition(getPosition() + 1);
     }
 
     // Recolección especial: este robot solo toma la mitad del dinero disponible en la tienda
-    public void collectFromStore(Store store) {
-        if (store == null) return;
-
-        int available = store.getTenges();
-        if (available > 0) {
-            int half = available / 2;
-            int remaining = available - half;
-
-            try {
-                // Ajusta el dinero de la tienda usando reflexión (sin modificar directamente Store)
-                java.lang.reflect.Field f = Store.class.getDeclaredField("tenges");
-                f.setAccessible(true);
-                f.setInt(store, remaining);
-            } catch (Exception e) {
-                System.err.println("No se pudo ajustar el dinero de la tienda: " + e.getMessage());
-                return;
-            }
+    @Override
+    public int collectFrom(StoreBase store) {
+        return store.withdraw(store.getTenges() / 2);
+    }
 
-            // Si la tienda quedó vacía, actualiza su color
-            if (remaining == 0) {
-                try {
-                    java.lang.reflect.Method updateColor = Store.class.getDeclaredMethod("updateColor");
-                    updateColor.setAccessible(true);
-                    updateColor.invoke(store);
-                } catch (Exception ignored) {}
-            }
+    // En el índice de movimientos cuenta como robot que recoge la mitad
+    @Override
+    int moveKind() {
+        return BestMoveIndex.TENDER;
+    }
 
-            // Añade las ganancias al robot
-            addEarnings(half);
-        }
+    // Recoge de una tienda y suma lo recogido a sus ganancias
+    public void collectFromStore(StoreBase store) {
+        if (store == null) return;
+        addEarnings(collectFrom(store));
     }
 }
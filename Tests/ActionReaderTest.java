@@ -0,0 +1,86 @@
+package Tests;
+
+import SilkRoads.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para ActionReader y la resolución en streaming de SilkRoadSolver.
+ */
+public class ActionReaderTest {
+
+    // Verifica espacios variados, cantidad opcional, negativos y líneas vacías
+    @Test
+    public void testLeeAcciones() throws IOException {
+        ActionReader reader = lector("1 20\n\n  2\t15 15 \r\n4 -3 7 extra\n2 40 50");
+
+        assertTrue(reader.next());
+        assertEquals(1, reader.getType());
+        assertEquals(20, reader.getPosition());
+        assertEquals(0, reader.getAmount(), "Sin cantidad vale 0");
+
+        assertTrue(reader.next());
+        assertEquals(2, reader.getType());
+        assertEquals(15, reader.getPosition());
+        assertEquals(15, reader.getAmount());
+
+        assertTrue(reader.next());
+        assertEquals(-3, reader.getPosition());
+        assertEquals(7, reader.getAmount());
+
+        assertTrue(reader.next());
+        assertEquals(50, reader.getAmount(), "La última línea no necesita salto");
+        assertFalse(reader.next());
+    }
+
+    // Verifica que una línea sin posición es un error
+    @Test
+    public void testLineaIncompleta() {
+        assertThrows(IOException.class, () -> lector("1\n2 3 4\n").next());
+    }
+
+    // Verifica que un byte no ASCII a mitad de la entrada es un error y no corta la lectura
+    @Test
+    public void testByteNoAsciiEsError() throws IOException {
+        byte[] bytes = "1 5\n2 9 30\n1 7\n".getBytes(StandardCharsets.US_ASCII);
+        bytes[6] = (byte) 0xC3;   // "2 9" pasa a "2 \u00c3"
+        ActionReader reader = new ActionReader(new ByteArrayInputStream(bytes));
+        assertTrue(reader.next());
+        IOException error = assertThrows(IOException.class, reader::next, "No debe parecer el final del flujo");
+        assertTrue(error.getMessage().contains("0xC3"), error.getMessage());
+
+        assertThrows(IOException.class, () -> lector("1 4\u00e9 2\n").next(), "Número pegado a un byte no ASCII");
+        assertThrows(IOException.class, () -> lector("1 4x\n").next());
+    }
+
+    // Verifica que el streaming da lo mismo que resolver el arreglo completo
+    @Test
+    public void testStreamingCoincideConArreglo() throws IOException {
+        Random random = new Random(8);
+        int[][] dias = new int[5_000][];
+        StringBuilder texto = new StringBuilder();
+        for (int d = 0; d < dias.length; d++) {
+            dias[d] = new int[]{1 + random.nextInt(4), random.nextInt(2_000), random.nextInt(300)};
+            texto.append(dias[d][0]).append(' ').append(dias[d][1]).append(' ').append(dias[d][2]).append('\n');
+        }
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        long procesados = SilkRoadSolver.solve(
+                new ByteArrayInputStream(texto.toString().getBytes(StandardCharsets.US_ASCII)), salida);
+        assertEquals(dias.length, procesados);
+
+        StringBuilder esperado = new StringBuilder();
+        for (long ganancia : SilkRoadSolver.solve(dias)) esperado.append(ganancia).append('\n');
+        assertEquals(esperado.toString(), salida.toString(StandardCharsets.US_ASCII));
+    }
+
+    // Crea un lector sobre un texto
+    private ActionReader lector(String texto) {
+        return new ActionReader(new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,6 +1,7 @@
 package Tests;
 
 import SilkRoads.AutonomousStore;
+import SilkRoads.SilkRoad;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -53,6 +54,16 @@ public class AutonomousStoreTest {
         assertEquals(8, store.getPosition());
     }
 
+    @Test
+    public void reubicaConElMapaDelTablero() {
+        SilkRoad road = SilkRoad.headless(30);
+        road.placeStore(10, 5);
+        road.placeStore(11, 5);
+        store = new AutonomousStore(10, 100);
+        store.relocateUsingFreeMap(30, road);
+        assertEquals(12, store.getPosition());
+    }
+
     @Test
     public void vaciadoYResurtidoFuncionanComoEnLaBase() {
         int collected = store.emptyOnce();
@@ -0,0 +1,66 @@
+package Tests;
+
+import Benchmarks.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de humo para los programas de Benchmarks.
+ * Corren el main de cada uno con argumentos mínimos (sin pantalla), así un cambio de
+ * diseño que los rompa falla aquí y no recién al medir. No verifican números.
+ */
+public class BenchmarkSmokeTest {
+
+    // Verifica que EngineBenchmark corre en modo humo
+    @Test
+    public void testEngineBenchmark() {
+        String salida = ejecutar(() -> EngineBenchmark.main(new String[]{"humo"}));
+        assertTrue(salida.contains("SilkRoadSolver"), "Debe medir el solver");
+        assertTrue(salida.contains("churn + reboot"), "Debe medir la rotación de entidades");
+    }
+
+    // Verifica que ScenarioBenchmark corre con pocos guiones cortos
+    @Test
+    public void testScenarioBenchmark() {
+        String salida = ejecutar(() -> ScenarioBenchmark.main(new String[]{"4", "200", "2"}));
+        assertTrue(salida.contains("hilos"), "Debe imprimir la tabla por hilos");
+    }
+
+    // Verifica que SpiralGrowthBenchmark corre con una ruta corta
+    @Test
+    public void testSpiralGrowthBenchmark() {
+        String salida = ejecutar(() -> SpiralGrowthBenchmark.main(new String[]{"1000"}));
+        assertTrue(salida.contains("celdas"), "Debe imprimir la tabla de tamaños");
+    }
+
+    // Verifica que CanvasMoveBenchmark corre sin pantalla con pocos movimientos
+    @Test
+    public void testCanvasMoveBenchmark() {
+        String salida = ejecutar(() -> CanvasMoveBenchmark.main(new String[]{"4"}));
+        assertTrue(salida.contains("región sucia"), "Debe comparar ambos repintados");
+    }
+
+    // Verifica que TenderCollectBenchmark corre con pocas recolecciones (incluida la
+    // reflexión sobre StoreBase y StoreTable)
+    @Test
+    public void testTenderCollectBenchmark() {
+        String salida = ejecutar(() -> TenderCollectBenchmark.main(new String[]{"100"}));
+        assertTrue(salida.contains("withdraw"), "Debe medir ambos caminos");
+    }
+
+    // Ejecuta un main capturando lo que imprime; falla si lanza una excepción
+    private String ejecutar(Runnable main) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(salida, true, StandardCharsets.UTF_8));
+        try {
+            assertDoesNotThrow(main::run);
+        } finally {
+            System.setOut(original);
+        }
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,280 @@
+package Tests;
+
+import SilkRoads.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para BestMoveIndex.
+ * Compara el índice contra el recorrido robots x tiendas del movimiento automático,
+ * incluyendo el desempate (primer robot colocado, luego primera tienda colocada).
+ */
+public class BestMoveIndexTest {
+
+    // Verifica un caso pequeño con una tienda a cada lado
+    @Test
+    public void testEligeMejorPar() {
+        BestMoveIndex index = new BestMoveIndex();
+        int robot = index.addRobot(0);
+        index.addStore(5, 10);
+        int lejana = index.addStore(8, 15);
+
+        assertTrue(index.hasCandidate());
+        assertEquals(7, index.getBestGain(), "15 - 8 = 7 supera a 10 - 5 = 5");
+        assertEquals(robot, index.getBestRobot());
+        assertEquals(lejana, index.getBestStore());
+    }
+
+    // Verifica que las tiendas vacías no participan
+    @Test
+    public void testIgnoraTiendasVacias() {
+        BestMoveIndex index = new BestMoveIndex();
+        index.addRobot(3);
+        int tienda = index.addStore(4, 9);
+        index.setStoreTenges(tienda, 0);
+        assertFalse(index.hasCandidate(), "Una tienda vacía no es candidata");
+
+        index.setStoreTenges(tienda, 9);
+        assertEquals(8, index.getBestGain());
+    }
+
+    // Verifica que los empates favorecen al primer robot y a la primera tienda
+    @Test
+    public void testDesempateComoRecorridoOriginal() {
+        BestMoveIndex index = new BestMoveIndex();
+        int r0 = index.addRobot(10);
+        index.addRobot(10);
+        int s0 = index.addStore(5, 20);
+        index.addStore(15, 20);
+
+        assertEquals(15, index.getBestGain());
+        assertEquals(r0, index.getBestRobot());
+        assertEquals(s0, index.getBestStore());
+    }
+
+    // Verifica que el primer robot de otra clase ve las tiendas colocadas antes que él
+    @Test
+    public void testTenderLlegaDespuesDeLasTiendas() {
+        BestMoveIndex index = new BestMoveIndex();
+        index.addStore(10, 40);
+        int cerca = index.addStore(2, 8);
+        index.addRobot(-50);
+        assertEquals(-20, index.getBestGain(), "El normal lejano pierde: 40 - 60 supera a 8 - 52");
+
+        int tender = index.addRobot(0, BestMoveIndex.TENDER);
+        assertEquals(10, index.getBestGain(), "El tender recoge 20 de la tienda a distancia 10");
+        assertEquals(tender, index.getBestRobot());
+        index.setStoreTenges(cerca, 30);
+        assertEquals(13, index.getBestGain(), "15 - 2 supera a 20 - 10");
+    }
+
+    // Verifica que ir y volver muchas veces no acumula entradas de robots que ya se fueron
+    @Test
+    public void testIdaYVueltaNoAcumulaEntradas() {
+        BestMoveIndex index = new BestMoveIndex();
+        int quieto = index.addRobot(5);
+        int viajero = index.addRobot(0, BestMoveIndex.TENDER);
+        index.addStore(9, 30);
+        for (int vuelta = 0; vuelta < 40000; vuelta++) {
+            index.moveRobot(viajero, 5);
+            assertEquals(2, index.getRobotCountAt(5));
+            index.moveRobot(viajero, 0);
+        }
+        assertEquals(1, index.getRobotCountAt(5), "Solo queda el robot que no se movió");
+        assertEquals(1, index.getRobotCountAt(0));
+        assertEquals(quieto, index.getBestRobot());
+
+        index.removeRobot(viajero);
+        assertEquals(0, index.getRobotCountAt(0));
+    }
+
+    // Verifica operaciones aleatorias contra la búsqueda exhaustiva
+    @Test
+    public void testCoincideConBusquedaExhaustiva() {
+        compararConBusquedaExhaustiva(false);
+    }
+
+    // Verifica lo mismo con las posiciones comprimidas de antemano
+    @Test
+    public void testComprimidoCoincideConBusquedaExhaustiva() {
+        compararConBusquedaExhaustiva(true);
+    }
+
+    // Verifica que el índice comprimido rechaza posiciones no declaradas
+    @Test
+    public void testComprimidoRechazaPosicionNueva() {
+        BestMoveIndex index = BestMoveIndex.forPositions(new int[]{3, 9, 3});
+        index.addStore(9, 4);
+        assertEquals(-1, index.getStoreAt(5));
+        assertEquals(0, index.getStoreAt(9));
+        assertThrows(IllegalArgumentException.class, () -> index.addRobot(5));
+    }
+
+    // Verifica las reglas por tipo: neverback no retrocede, tender toma la mitad y fighter
+    // solo atiende a robots más ricos que ella
+    @Test
+    public void testReglasPorTipo() {
+        BestMoveIndex index = new BestMoveIndex();
+        int nb = index.addRobot(10, BestMoveIndex.NEVER_BACK);
+        index.addStore(4, 30);
+        assertFalse(index.hasCandidate(), "El neverback no puede ir a una tienda a su izquierda");
+
+        int tender = index.addRobot(0, BestMoveIndex.TENDER);
+        assertEquals(11, index.getBestGain(), "Mitad de 30 menos 4 metros");
+        assertEquals(tender, index.getBestRobot());
+
+        int fighter = index.addStore(12, 50, true);
+        assertEquals(tender, index.getBestRobot(), "Nadie es más rico que la fighter");
+        index.setRobotEarnings(nb, 51);
+        assertEquals(48, index.getBestGain(), "50 - 2 metros hacia adelante");
+        assertEquals(nb, index.getBestRobot());
+        assertEquals(fighter, index.getBestStore());
+    }
+
+    // Verifica las reglas por tipo contra la búsqueda exhaustiva
+    @Test
+    public void testTiposCoincidenConBusquedaExhaustiva() {
+        compararConTipos(false);
+        compararConTipos(true);
+    }
+
+    // Operaciones aleatorias con clases de robot, fighters y ganancias, contra la búsqueda exhaustiva
+    private void compararConTipos(boolean comprimido) {
+        Random random = new Random(17);
+        for (int round = 0; round < 150; round++) {
+            List<int[]> robots = new ArrayList<>();   // {id, posición, clase, ganancias}
+            List<int[]> stores = new ArrayList<>();   // {id, posición, tenges, fighter}
+            int span = 5 + random.nextInt(60);
+            int[] dominio = new int[span];
+            for (int i = 0; i < span; i++) dominio[i] = i - span / 4;
+            BestMoveIndex index = comprimido ? BestMoveIndex.forPositions(dominio) : new BestMoveIndex();
+
+            for (int step = 0; step < 300; step++) {
+                int op = random.nextInt(7);
+                int pos = random.nextInt(span) - span / 4;
+                if (op == 0) {
+                    int clase = random.nextInt(3);
+                    robots.add(new int[]{index.addRobot(pos, clase), pos, clase, 0});
+                } else if (op == 1 && !hasStoreAt(stores, pos)) {
+                    int tenges = random.nextInt(40);
+                    int fighter = random.nextInt(3) == 0 ? 1 : 0;
+                    stores.add(new int[]{index.addStore(pos, tenges, fighter == 1), pos, tenges, fighter});
+                } else if (op == 2 && !robots.isEmpty()) {
+                    int[] r = robots.get(random.nextInt(robots.size()));
+                    r[1] = pos;
+                    index.moveRobot(r[0], pos);
+                } else if (op == 3 && !stores.isEmpty()) {
+                    int[] s = stores.get(random.nextInt(stores.size()));
+                    s[2] = random.nextInt(3) == 0 ? 0 : random.nextInt(40);
+                    index.setStoreTenges(s[0], s[2]);
+                } else if (op == 4 && !robots.isEmpty()) {
+                    int[] r = robots.get(random.nextInt(robots.size()));
+                    r[3] = random.nextInt(4) == 0 ? 0 : r[3] + random.nextInt(20);
+                    index.setRobotEarnings(r[0], r[3]);
+                } else if (op == 5 && random.nextInt(4) == 0) {
+                    if (random.nextBoolean() && !robots.isEmpty()) {
+                        index.removeRobot(robots.remove(random.nextInt(robots.size()))[0]);
+                    } else if (!stores.isEmpty()) {
+                        index.removeStore(stores.remove(random.nextInt(stores.size()))[0]);
+                    }
+                }
+                assertSameAsExhaustiveWithTypes(index, robots, stores);
+            }
+        }
+    }
+
+    // Doble ciclo con las reglas de cada tipo de robot y tienda
+    private void assertSameAsExhaustiveWithTypes(BestMoveIndex index, List<int[]> robots, List<int[]> stores) {
+        long bestGain = Long.MIN_VALUE;
+        int bestRobot = -1, bestStore = -1;
+        for (int[] r : robots) {
+            for (int[] s : stores) {
+                if (s[2] <= 0) continue;
+                if (r[2] == BestMoveIndex.NEVER_BACK && s[1] < r[1]) continue;
+                if (s[3] == 1 && r[3] <= s[2]) continue;
+                int recogido = r[2] == BestMoveIndex.TENDER ? s[2] / 2 : s[2];
+                long gain = recogido - (long) Math.abs(r[1] - s[1]);
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestRobot = r[0];
+                    bestStore = s[0];
+                }
+            }
+        }
+        assertEquals(bestRobot, index.getBestRobot(), "Robot elegido");
+        assertEquals(bestStore, index.getBestStore(), "Tienda elegida");
+        if (bestRobot >= 0) assertEquals(bestGain, index.getBestGain(), "Ganancia");
+    }
+
+    // Aplica operaciones aleatorias y compara cada paso con la búsqueda exhaustiva
+    private void compararConBusquedaExhaustiva(boolean comprimido) {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            List<int[]> robots = new ArrayList<>();   // {id, posición}
+            List<int[]> stores = new ArrayList<>();   // {id, posición, tenges}
+            int span = 5 + random.nextInt(60);
+            int[] dominio = new int[span];
+            for (int i = 0; i < span; i++) dominio[i] = i - span / 4;
+            BestMoveIndex index = comprimido ? BestMoveIndex.forPositions(dominio) : new BestMoveIndex();
+
+            for (int step = 0; step < 300; step++) {
+                int op = random.nextInt(7);
+                int pos = random.nextInt(span) - span / 4;
+                if (op == 0) {
+                    robots.add(new int[]{index.addRobot(pos), pos});
+                } else if (op == 1 && !hasStoreAt(stores, pos)) {
+                    int tenges = random.nextInt(40);
+                    stores.add(new int[]{index.addStore(pos, tenges), pos, tenges});
+                } else if (op == 2 && !robots.isEmpty()) {
+                    int[] r = robots.get(random.nextInt(robots.size()));
+                    r[1] = pos;
+                    index.moveRobot(r[0], pos);
+                } else if (op == 3 && !stores.isEmpty()) {
+                    int[] s = stores.get(random.nextInt(stores.size()));
+                    s[2] = random.nextInt(3) == 0 ? 0 : random.nextInt(40);
+                    index.setStoreTenges(s[0], s[2]);
+                } else if (op == 4 && !robots.isEmpty() && random.nextInt(4) == 0) {
+                    index.removeRobot(robots.remove(random.nextInt(robots.size()))[0]);
+                } else if (op == 5 && !stores.isEmpty() && random.nextInt(4) == 0) {
+                    index.removeStore(stores.remove(random.nextInt(stores.size()))[0]);
+                } else if (op == 6 && !robots.isEmpty() && !stores.isEmpty()) {
+                    int[] r = robots.get(random.nextInt(robots.size()));
+                    int[] s = stores.get(random.nextInt(stores.size()));
+                    r[1] = s[1];
+                    s[2] = random.nextInt(2) == 0 ? 0 : random.nextInt(40);
+                    index.collect(r[0], s[0], s[2]);
+                }
+                assertSameAsExhaustive(index, robots, stores);
+            }
+        }
+    }
+
+    // Indica si alguna tienda de la lista ocupa la posición
+    private boolean hasStoreAt(List<int[]> stores, int pos) {
+        for (int[] s : stores) if (s[1] == pos) return true;
+        return false;
+    }
+
+    // Replica el doble ciclo del movimiento automático y compara el resultado
+    private void assertSameAsExhaustive(BestMoveIndex index, List<int[]> robots, List<int[]> stores) {
+        long bestGain = Long.MIN_VALUE;
+        int bestRobot = -1, bestStore = -1;
+        for (int[] r : robots) {
+            for (int[] s : stores) {
+                if (s[2] <= 0) continue;
+                long gain = s[2] - (long) Math.abs(r[1] - s[1]);
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestRobot = r[0];
+                    bestStore = s[0];
+                }
+            }
+        }
+        assertEquals(bestRobot, index.getBestRobot(), "Robot elegido");
+        assertEquals(bestStore, index.getBestStore(), "Tienda elegida");
+        if (bestRobot >= 0) assertEquals(bestGain, index.getBestGain(), "Ganancia");
+    }
+}
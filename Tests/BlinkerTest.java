@@ -0,0 +1,41 @@
+package Tests;
+
+import SilkRoads.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para Blinker.
+ * Usan robots sin figuras: el temporizador corre igual pero no hay nada que pintar.
+ */
+public class BlinkerTest {
+
+    // Verifica que pedir un parpadeo vuelve enseguida y termina solo
+    @Test
+    public void testParpadeoNoBloquea() throws InterruptedException {
+        Blinker blinker = new Blinker();
+        Robot robot = new Robot(0, 0);
+
+        long inicio = System.nanoTime();
+        blinker.blink(robot, 6);
+        long esperaMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertTrue(esperaMs < Blinker.HALF_PERIOD_MS, "blink no debe esperar al temporizador (tardó " + esperaMs + " ms)");
+        assertTrue(blinker.isBlinking(robot));
+
+        blinker.blink(robot, 1);
+        long limite = System.currentTimeMillis() + 10L * Blinker.HALF_PERIOD_MS;
+        while (blinker.isBlinking(robot) && System.currentTimeMillis() < limite) Thread.sleep(20);
+        assertFalse(blinker.isBlinking(robot), "Un parpadeo termina tras dos pasos del temporizador");
+    }
+
+    // Verifica que detener el parpadeo lo cancela
+    @Test
+    public void testDetenerParpadeo() {
+        Blinker blinker = new Blinker();
+        Robot robot = new Robot(0, 0);
+        blinker.blink(robot, 6);
+        blinker.stop(robot);
+        assertFalse(blinker.isBlinking(robot));
+    }
+}
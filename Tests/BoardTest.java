@@ -0,0 +1,107 @@
+package Tests;
+
+import Shapes.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para Board.
+ * No muestran el tablero, por lo que corren en servidores sin pantalla.
+ */
+public class BoardTest {
+
+    // Verifica que un tablero enorme solo reserva figuras para la ventana del lienzo
+    @Test
+    public void testVentanaAcotada() {
+        Board board = new Board(1000, 1000);
+        assertEquals(1000, board.getRows());
+        assertEquals(1000, board.getCols());
+        assertTrue(board.getViewportRows() < 100, "La ventana debe depender del lienzo");
+        assertTrue(board.getViewportCols() < 100, "La ventana debe depender del lienzo");
+    }
+
+    // Verifica qué celdas caen dentro de la ventana del lienzo
+    @Test
+    public void testCeldasEnVentana() {
+        Board board = new Board(1000, 1000);
+        assertTrue(board.isInViewport(0, 0));
+        assertTrue(board.isInViewport(board.getViewportRows() - 1, board.getViewportCols() - 1));
+        assertFalse(board.isInViewport(board.getViewportRows(), 0), "Fila fuera de la ventana");
+        assertFalse(board.isInViewport(0, board.getViewportCols()), "Columna fuera de la ventana");
+        assertFalse(board.isInViewport(-1, 0));
+
+        Board chico = new Board(2, 3);
+        assertFalse(chico.isInViewport(2, 0), "Fuera del tablero no hay ventana");
+        assertTrue(chico.isInViewport(1, 2));
+
+        int fila = board.getViewportRows();
+        assertThrows(IndexOutOfBoundsException.class, () -> board.getCell(fila, 0), "Fuera de la ventana no hay figura");
+        assertThrows(IndexOutOfBoundsException.class, () -> board.getCell(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> chico.isCellVisible(2, 0), "Fuera del tablero");
+        assertThrows(IndexOutOfBoundsException.class, () -> chico.isCellVisible(0, -1));
+    }
+
+    // Verifica que la máscara se guarda por celda
+    @Test
+    public void testMascara() {
+        Board board = new Board(3, 4);
+        assertTrue(board.isCellVisible(2, 3), "Las celdas nacen visibles");
+
+        boolean[][] mask = new boolean[3][4];
+        mask[1][2] = true;
+        board.setVisibleCells(mask);
+        assertTrue(board.isCellVisible(1, 2));
+        assertFalse(board.isCellVisible(2, 3));
+        assertThrows(IllegalArgumentException.class, () -> board.setVisibleCells(new boolean[2][4]));
+    }
+
+    // Verifica que crecer conserva la máscara corrida por el origen y oculta lo nuevo
+    @Test
+    public void testCrecerConservaCeldas() {
+        Board board = new Board(2, 2);
+        boolean[][] mask = {{true, false}, {false, true}};
+        board.setVisibleCells(mask);
+
+        board.grow(1, 2, 4, 5);
+        assertEquals(4, board.getRows());
+        assertEquals(5, board.getCols());
+        assertTrue(board.isCellVisible(1, 2), "La celda (0,0) pasa a (1,2)");
+        assertTrue(board.isCellVisible(2, 3), "La celda (1,1) pasa a (2,3)");
+        assertFalse(board.isCellVisible(1, 3));
+        assertFalse(board.isCellVisible(0, 0), "Las celdas nuevas nacen ocultas");
+        assertFalse(board.isCellVisible(3, 4), "Las celdas nuevas nacen ocultas");
+        assertThrows(IllegalArgumentException.class, () -> board.grow(0, 0, 3, 5));
+    }
+
+    // Verifica muchos crecimientos de a una celda en todas las direcciones
+    @Test
+    public void testCrecimientoRepetido() {
+        Board board = new Board(1, 1);
+        int shiftedRows = 0, shiftedCols = 0;
+        for (int i = 0; i < 500; i++) {
+            int top = i % 2, left = (i / 2) % 2;
+            board.grow(top, left, board.getRows() + 1, board.getCols() + 1);
+            shiftedRows += top;
+            shiftedCols += left;
+        }
+        assertEquals(501, board.getRows());
+        assertEquals(501, board.getCols());
+        assertTrue(board.isCellVisible(shiftedRows, shiftedCols), "La celda original sigue visible");
+        assertFalse(board.isCellVisible(shiftedRows + 1, shiftedCols));
+        assertFalse(board.isCellVisible(0, 0));
+    }
+
+    // Verifica que se puede revelar y ocultar una sola celda
+    @Test
+    public void testRevelarCelda() {
+        Board board = new Board(3, 3);
+        board.setVisibleCells(new boolean[3][3]);
+        board.setCellVisible(1, 1, true);
+        assertTrue(board.isCellVisible(1, 1));
+        assertFalse(board.isCellVisible(1, 2));
+
+        board.setCellVisible(1, 1, false);
+        assertFalse(board.isCellVisible(1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> board.setCellVisible(3, 0, true));
+    }
+}
@@ -0,0 +1,68 @@
+package Tests;
+
+import SilkRoads.*;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para LeaderBoard.
+ * Comparan el líder y el top k con un recorrido completo de las ganancias.
+ */
+public class LeaderBoardTest {
+
+    // Verifica el líder, el desempate por id y el top k
+    @Test
+    public void testLiderYTopK() {
+        LeaderBoard tabla = new LeaderBoard();
+        assertEquals(-1, tabla.leader(), "Sin robots no hay líder");
+
+        tabla.add(0, 0);
+        tabla.add(1, 0);
+        tabla.add(2, 0);
+        assertEquals(0, tabla.leader(), "En empate gana el primero");
+
+        tabla.update(2, 30);
+        tabla.update(1, 10);
+        assertEquals(2, tabla.leader());
+        assertArrayEquals(new int[]{2, 1}, tabla.topK(2));
+        assertArrayEquals(new int[]{2, 1, 0}, tabla.topK(10), "k mayor que la cantidad devuelve todos");
+
+        tabla.remove(2);
+        assertEquals(1, tabla.leader());
+        assertEquals(2, tabla.size());
+    }
+
+    // Verifica operaciones aleatorias contra el recorrido completo
+    @Test
+    public void testCoincideConRecorrido() {
+        Random random = new Random(5);
+        LeaderBoard tabla = new LeaderBoard();
+        int[] ganancias = new int[200];
+        boolean[] presente = new boolean[200];
+        for (int paso = 0; paso < 5000; paso++) {
+            int id = random.nextInt(200);
+            int op = random.nextInt(4);
+            if (op == 0) {
+                presente[id] = true;
+                ganancias[id] = random.nextInt(50);
+                tabla.add(id, ganancias[id]);
+            } else if (op == 1 && presente[id]) {
+                ganancias[id] += random.nextInt(10);
+                tabla.update(id, ganancias[id]);
+            } else if (op == 2) {
+                presente[id] = false;
+                tabla.remove(id);
+            } else if (presente[id]) {
+                ganancias[id] = 0;
+                tabla.update(id, 0);
+            }
+
+            int esperado = -1;
+            for (int i = 0; i < 200; i++) {
+                if (presente[i] && (esperado < 0 || ganancias[i] > ganancias[esperado])) esperado = i;
+            }
+            assertEquals(esperado, tabla.leader(), "Paso " + paso);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package Tests;
+
+import SilkRoads.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para PositionIndex.
+ * Verifica inserción, consulta y borrado contra un HashMap de referencia.
+ */
+public class PositionIndexTest {
+
+    // Verifica las operaciones básicas sobre una posición
+    @Test
+    public void testPutGetRemove() {
+        PositionIndex<String> index = new PositionIndex<>();
+        assertNull(index.get(5), "Un índice vacío no debe tener elementos");
+
+        assertNull(index.put(5, "tienda"));
+        assertEquals("tienda", index.get(5));
+        assertTrue(index.contains(5));
+        assertEquals(1, index.size());
+
+        assertEquals("tienda", index.remove(5));
+        assertFalse(index.contains(5));
+        assertEquals(0, index.size());
+        assertNull(index.remove(5), "Borrar dos veces no debe devolver nada");
+    }
+
+    // Verifica que operaciones aleatorias coinciden con un HashMap
+    @Test
+    public void testCoincideConHashMap() {
+        PositionIndex<Integer> index = new PositionIndex<>();
+        Map<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200_000; i++) {
+            int position = random.nextInt(2_000) - 100;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(reference.put(position, i), index.put(position, i));
+                case 1 -> assertEquals(reference.remove(position), index.remove(position));
+                default -> assertEquals(reference.get(position), index.get(position));
+            }
+            assertEquals(reference.size(), index.size());
+        }
+        for (int position = -100; position < 1_900; position++) {
+            assertEquals(reference.get(position), index.get(position));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package Tests;
+
+import SilkRoads.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para RoadJournal.
+ * Registran corridas al azar con todos los tipos y operaciones y comparan la ruta
+ * restaurada en distintos pasos con el estado que tenía la ruta original en ese paso.
+ */
+public class RoadJournalTest {
+
+    private static final String[] TIPOS_TIENDA = {"normal", "autonomous", "fighter"};
+    private static final String[] TIPOS_ROBOT = {"normal", "tender", "neverback"};
+
+    // Verifica que restaurar cualquier paso reproduce el estado original
+    @Test
+    public void testRestauraCualquierPaso() throws IOException {
+        Random random = new Random(8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SilkRoad road = SilkRoad.headless(120);
+        RoadJournal journal = new RoadJournal(bytes, 50);
+        road.setJournal(journal);
+
+        List<String> estados = new ArrayList<>();
+        estados.add(huella(road));
+        for (int paso = 0; paso < 3000; paso++) {
+            operar(road, random);
+            estados.add(huella(road));
+        }
+        journal.close();
+        assertEquals(3000, journal.getSteps());
+
+        byte[] diario = bytes.toByteArray();
+        int[] pasos = {0, 1, 49, 50, 51, 777, 2950, 2999, 3000};
+        for (int paso : pasos) {
+            SilkRoad restaurada = RoadJournal.restore(new ByteArrayInputStream(diario), paso);
+            assertEquals(estados.get(paso), huella(restaurada), "Paso " + paso);
+        }
+        for (int i = 0; i < 30; i++) {
+            int paso = random.nextInt(3001);
+            assertEquals(estados.get(paso), huella(RoadJournal.restore(new ByteArrayInputStream(diario), paso)), "Paso " + paso);
+        }
+    }
+
+    // Verifica que la ruta restaurada sigue igual que la original con las mismas operaciones
+    @Test
+    public void testRestauradaSigueIgual() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SilkRoad road = SilkRoad.headless(60);
+        road.placeStore(5, 40);
+        road.placeRobot(0, "tender");
+        RoadJournal journal = new RoadJournal(bytes, 7);
+        road.setJournal(journal);
+        Random random = new Random(3);
+        for (int paso = 0; paso < 203; paso++) operar(road, random);
+
+        // El diario se enlazó con la ruta ya poblada y se lee abierto, tras flush
+        journal.flush();
+        SilkRoad copia = RoadJournal.restore(new ByteArrayInputStream(bytes.toByteArray()), 203);
+        Random siguiente = new Random(11);
+        Random igual = new Random(11);
+        for (int paso = 0; paso < 300; paso++) {
+            operar(road, siguiente);
+            operar(copia, igual);
+            assertEquals(huella(road), huella(copia), "Paso " + paso + " tras restaurar");
+        }
+    }
+
+    // Verifica los errores: diario ajeno o más corto que el paso pedido
+    @Test
+    public void testErrores() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SilkRoad road = SilkRoad.headless(10);
+        RoadJournal journal = new RoadJournal(bytes, 4);
+        road.setJournal(journal);
+        road.placeRobot(1);
+        journal.close();
+
+        assertThrows(IOException.class, () -> RoadJournal.restore(new ByteArrayInputStream(bytes.toByteArray()), 2));
+        assertThrows(IOException.class, () -> RoadJournal.restore(new ByteArrayInputStream(new byte[8]), 0));
+        assertThrows(IllegalStateException.class, () -> road.setJournal(new RoadJournal(new ByteArrayOutputStream(), 4)));
+        assertThrows(IllegalArgumentException.class, () -> new RoadJournal(new ByteArrayOutputStream(), 0));
+    }
+
+    // Aplica una operación pública al azar (algunas fallan a propósito)
+    private static void operar(SilkRoad road, Random random) {
+        int op = random.nextInt(20);
+        int pos = random.nextInt(140) - 5;
+        if (op < 4) road.placeStore(pos, TIPOS_TIENDA[random.nextInt(3)], 1 + random.nextInt(80));
+        else if (op < 7) road.placeRobot(pos, TIPOS_ROBOT[random.nextInt(3)]);
+        else if (op < 10) road.moveRobot();
+        else if (op < 14) road.moveRobot(pos, random.nextInt(21) - 10);
+        else if (op < 16 && !road.getRobots().isEmpty()) road.moveRobot(road.getRobots().get(0).getPosition(), random.nextInt(9) - 4);
+        else if (op == 16) road.removeStore(pos);
+        else if (op == 17) road.removeRobot(pos);
+        else if (op == 18) road.resupplyStores();
+        else if (random.nextBoolean()) road.returnRobots();
+        else road.reboot();
+    }
+
+    // Estado lógico observable de una ruta como texto comparable
+    private static String huella(SilkRoad road) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(road.getProfit()).append('|').append(road.getRouteSize()).append('|');
+        for (StoreBase s : road.getStores()) {
+            sb.append(s.getType()).append(',').append(s.getPosition()).append(',')
+              .append(s.getTenges()).append(',').append(s.getTimesEmptied()).append(';');
+        }
+        sb.append('|');
+        for (RobotBase r : road.getRobots()) {
+            sb.append(r.getType()).append(',').append(r.getInitialPosition()).append(',')
+              .append(r.getPosition()).append(',').append(r.getEarnings()).append(';');
+        }
+        RobotBase lider = road.getRichestRobot();
+        sb.append('|').append(lider == null ? "-" : lider.getInitialPosition() + "/" + lider.getPosition());
+        return sb.toString();
+    }
+}
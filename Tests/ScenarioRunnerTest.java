@@ -0,0 +1,61 @@
+package Tests;
+
+import SilkRoads.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para ScenarioRunner.
+ * Verifica que el resultado en paralelo coincide, guion por guion y en orden,
+ * con la ejecución secuencial.
+ */
+public class ScenarioRunnerTest {
+
+    // Verifica que los resultados llegan en el orden de entrada
+    @Test
+    public void testConservaOrden() {
+        Random random = new Random(5);
+        List<int[][]> guiones = new ArrayList<>();
+        for (int g = 0; g < 40; g++) {
+            int[][] dias = new int[50 + random.nextInt(200)][];
+            for (int d = 0; d < dias.length; d++) {
+                dias[d] = new int[]{1 + random.nextInt(4), random.nextInt(300), random.nextInt(80)};
+            }
+            guiones.add(dias);
+        }
+
+        List<long[]> resultados;
+        try (ScenarioRunner runner = new ScenarioRunner(4)) {
+            resultados = runner.run(guiones);
+        }
+        assertEquals(guiones.size(), resultados.size());
+        for (int g = 0; g < guiones.size(); g++) {
+            assertArrayEquals(SilkRoadSolver.solve(guiones.get(g)), resultados.get(g), "Guion " + g);
+        }
+    }
+
+    // Verifica que corre con un motor propio basado en SilkRoad sin vista
+    @Test
+    public void testMotorHeadless() {
+        int[][] dias = {{1, 20}, {2, 15, 15}, {2, 40, 50}};
+        List<long[]> resultados;
+        try (ScenarioRunner runner = new ScenarioRunner(2, acciones -> {
+            SilkRoad camino = SilkRoad.headless(20);
+            long[] ganancias = new long[acciones.length];
+            for (int d = 0; d < acciones.length; d++) {
+                if (acciones[d][0] == 2) camino.placeStore(acciones[d][1], acciones[d][2]);
+                else camino.placeRobot(acciones[d][1]);
+                camino.moveRobot();
+                ganancias[d] = camino.getProfit();
+            }
+            return ganancias;
+        })) {
+            resultados = runner.run(List.of(dias, dias));
+        }
+        assertArrayEquals(new long[]{0, 10, 35}, resultados.get(0));
+        assertArrayEquals(new long[]{0, 10, 35}, resultados.get(1));
+    }
+}
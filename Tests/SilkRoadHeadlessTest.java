@@ -0,0 +1,324 @@
+package Tests;
+
+import SilkRoads.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para SilkRoad en modo headless.
+ * No crean tablero ni ventana, por lo que corren en servidores sin pantalla.
+ */
+public class SilkRoadHeadlessTest {
+
+    private SilkRoad sr;
+
+    @BeforeEach
+    public void setUp() {
+        sr = SilkRoad.headless(20);
+    }
+
+    // Verifica que la ruta headless conserva el tamaño inicial
+    @Test
+    public void testTamanoInicial() {
+        assertEquals(20, sr.getRouteSize(), "La ruta debe tener 20 posiciones");
+        assertEquals(0, sr.getProfit(), "La ganancia inicial debe ser 0");
+    }
+
+    // Verifica que colocar fuera de la ruta la hace crecer
+    @Test
+    public void testCreceAlColocarLejos() {
+        sr.placeStore(100, 10);
+        assertEquals(101, sr.getRouteSize(), "La ruta debe crecer hasta la posición 100");
+        assertEquals(1, sr.getStores().size());
+    }
+
+    // Verifica que el movimiento automático elige la mejor ganancia
+    @Test
+    public void testMovimientoAutomatico() {
+        sr.placeRobot(0);
+        sr.placeStore(5, 10);
+        sr.placeStore(8, 15);
+
+        sr.moveRobot();
+
+        assertEquals(7, sr.getProfit(), "Debe ir a la tienda de 15 tenges (15 - 8)");
+        assertEquals(8, sr.getRobots().get(0).getPosition());
+        assertEquals(7, sr.getRichestRobot().getEarnings());
+    }
+
+    // Verifica el movimiento manual, la recolección y el reinicio
+    @Test
+    public void testMovimientoManualYReinicio() {
+        sr.placeRobot(0);
+        sr.placeStore(5, 12);
+
+        sr.moveRobot(0, 5);
+        assertEquals(7, sr.getProfit(), "12 tenges menos 5 metros");
+        assertEquals(0, sr.getStores().get(0).getTenges(), "La tienda queda vacía");
+
+        sr.reboot();
+        assertEquals(0, sr.getProfit());
+        assertEquals(12, sr.getStores().get(0).getTenges(), "La tienda se reabastece");
+        assertEquals(0, sr.getRobots().get(0).getPosition(), "El robot vuelve al inicio");
+    }
+
+    // Verifica que mostrar u ocultar no tiene efecto en modo headless
+    @Test
+    public void testVisibilidadSinEfecto() {
+        sr.placeRobot(3);
+        sr.makeVisible();
+        sr.makeInvisible();
+        assertEquals(1, sr.getRobots().size());
+    }
+
+    // Verifica que el modelo publica los eventos de una jugada automática
+    @Test
+    public void testEventosDelModelo() {
+        List<String> eventos = new ArrayList<>();
+        sr.addListener(new RoadListener() {
+            public void storePlaced(StoreBase store) { eventos.add("tienda " + store.getPosition()); }
+            public void robotPlaced(RobotBase robot) { eventos.add("robot " + robot.getPosition()); }
+            public void robotMoved(RobotBase robot, int from, int to) { eventos.add("mueve " + from + "->" + to); }
+            public void storeEmptied(StoreBase store) { eventos.add("vacía " + store.getPosition()); }
+            public void profitChanged(int profit) { eventos.add("ganancia " + profit); }
+            public void leaderChanged(RobotBase previous, RobotBase leader) { eventos.add("líder " + leader.getPosition()); }
+        });
+
+        sr.placeRobot(0);
+        sr.placeStore(5, 10);
+        sr.moveRobot();
+
+        assertEquals(List.of("robot 0", "tienda 5", "mueve 0->5", "vacía 5", "líder 5", "ganancia 5"), eventos);
+    }
+
+    // Verifica que el robot tender solo recoge la mitad al moverse manualmente
+    @Test
+    public void testTenderRecogeLaMitad() {
+        sr.placeRobot(0, "tender");
+        sr.placeStore(2, 20);
+
+        sr.moveRobot(0, 2);
+
+        assertEquals(8, sr.getProfit(), "Mitad de 20 tenges menos 2 metros");
+        assertEquals(10, sr.getStores().get(0).getTenges(), "La otra mitad queda en la tienda");
+    }
+
+    // Verifica que el robot neverback rechaza un movimiento hacia atrás
+    @Test
+    public void testNeverBackNoRetrocede() {
+        sr.placeRobot(6, "neverback");
+        sr.placeStore(3, 50);
+
+        sr.moveRobot(6, -3);
+
+        assertEquals(6, sr.getRobots().get(0).getPosition(), "El robot no debe retroceder");
+        assertEquals(0, sr.getProfit());
+        assertEquals(50, sr.getStores().get(0).getTenges(), "La tienda no se toca");
+    }
+
+    // Verifica que la tienda fighter no atiende a un robot más pobre que ella
+    @Test
+    public void testFighterNoAtiendeRobotPobre() {
+        sr.placeRobot(0);
+        sr.placeStore(4, "fighter", 30);
+
+        sr.moveRobot(0, 4);
+
+        assertEquals(4, sr.getRobots().get(0).getPosition(), "El robot sí llega a la tienda");
+        assertEquals(0, sr.getProfit(), "La tienda no le entrega nada");
+        assertEquals(30, sr.getStores().get(0).getTenges());
+    }
+
+    // Verifica que el movimiento automático solo propone pares permitidos por los tipos
+    @Test
+    public void testAutomaticoRespetaTipos() {
+        sr.placeRobot(6, "neverback");
+        sr.placeStore(3, 50);
+        sr.placeStore(9, 10);
+
+        sr.moveRobot();
+
+        assertEquals(9, sr.getRobots().get(0).getPosition(), "Va hacia adelante aunque atrás haya más");
+        assertEquals(7, sr.getProfit(), "10 tenges menos 3 metros");
+        assertEquals(50, sr.getStores().get(0).getTenges());
+    }
+
+    // Verifica el robot más rico y la clasificación de los k primeros
+    @Test
+    public void testClasificacion() {
+        sr.placeRobot(0);
+        sr.placeRobot(10);
+        sr.placeRobot(19);
+        sr.placeStore(12, 30);
+        sr.placeStore(2, 9);
+
+        sr.moveRobot();
+        sr.moveRobot();
+
+        List<RobotBase> top = sr.topK(2);
+        assertEquals(2, top.size());
+        assertEquals(28, top.get(0).getEarnings(), "El robot en 10 cobra 30 - 2");
+        assertEquals(7, top.get(1).getEarnings(), "El robot en 0 cobra 9 - 2");
+        assertSame(sr.getRichestRobot(), top.get(0));
+    }
+
+    // Verifica que tiendas y robots quitados conservan su estado y no los tocan los reinicios
+    @Test
+    public void testQuitadosConservanSuEstado() {
+        sr.placeRobot(0);
+        sr.placeRobot(9);
+        sr.placeStore(4, 20);
+        sr.moveRobot();
+        StoreBase tienda = sr.getStores().get(0);
+        RobotBase robot = sr.getRobots().get(0);
+
+        sr.removeStore(4);
+        sr.removeRobot(0);
+        sr.reboot();
+
+        assertEquals(0, tienda.getTenges(), "La tienda quitada no se reabastece");
+        assertEquals(1, tienda.getTimesEmptied());
+        assertEquals(4, robot.getPosition(), "El robot quitado no vuelve al inicio");
+        assertEquals(16, robot.getEarnings());
+        assertEquals(9, sr.getRobots().get(0).getPosition());
+    }
+
+    // Verifica que quitar y volver a colocar muchas veces (la ruta compacta las filas
+    // quitadas) conserva el desempate por orden de colocación y deja fuera a los quitados
+    @Test
+    public void testRotacionConservaOrdenDeColocacion() {
+        sr.placeRobot(2);
+        sr.placeRobot(8);
+        sr.placeStore(5, 20);
+        RobotBase primero = sr.getRobots().get(0);
+        RobotBase quitado = null;
+        for (int vuelta = 0; vuelta < 600; vuelta++) {
+            sr.placeRobot(30);
+            sr.placeStore(31, 50);
+            quitado = sr.getRobots().get(2);
+            sr.removeRobot(30);
+            sr.removeStore(31);
+        }
+        quitado.moveTo(6);
+
+        sr.moveRobot();
+        assertEquals(5, primero.getPosition(), "Empate 20 - 3 contra 20 - 3: va el colocado antes");
+        assertEquals(17, sr.getProfit());
+        assertSame(primero, sr.getRichestRobot());
+
+        sr.reboot();
+        assertEquals(2, primero.getPosition());
+        assertEquals(6, quitado.getPosition(), "El reinicio no toca al robot quitado");
+        assertEquals(20, sr.getStores().get(0).getTenges());
+    }
+
+    // Verifica que mover robots o tocar tiendas directamente actualiza el movimiento automático
+    @Test
+    public void testMutacionesDirectasLleganAlIndice() {
+        sr.placeRobot(0);
+        sr.placeStore(10, 30);
+        sr.placeStore(3, 10);
+        RobotBase robot = sr.getRobots().get(0);
+        StoreBase lejana = sr.getStores().get(0);
+
+        robot.moveTo(9);
+        lejana.emptyOnce();
+        sr.moveRobot();
+        assertEquals(3, robot.getPosition(), "La tienda vaciada a mano ya no es candidata");
+        assertEquals(4, sr.getProfit(), "10 tenges a 6 metros de la posición movida a mano");
+
+        lejana.resupply();
+        robot.move();
+        sr.moveRobot();
+        assertEquals(10, robot.getPosition(), "La tienda reabastecida a mano vuelve a ser candidata");
+        assertEquals(28, sr.getProfit(), "30 tenges a 6 metros de la posición tras move()");
+
+        robot.reset();
+        sr.placeRobot(6);
+        sr.placeStore(12, 20);
+        sr.moveRobot();
+        assertEquals(0, robot.getPosition(), "Tras reset el robot está en 0: 20 - 12 pierde contra 20 - 6");
+        assertEquals(12, sr.getRobots().get(1).getPosition());
+        assertEquals(42, sr.getProfit());
+
+        sr.placeRobot(30, "tender");
+        TenderRobot tender = (TenderRobot) sr.getRobots().get(2);
+        lejana.resupply();
+        tender.collectFromStore(lejana);
+        assertEquals(15, lejana.getTenges());
+        assertSame(tender, sr.getRichestRobot(), "La clasificación ve lo que recogió el tender (15 > 14)");
+    }
+
+    // Verifica que tablas, índice y clasificación coinciden tras mezclar operaciones de la
+    // ruta con mutaciones directas sobre robots y tiendas (también ya quitados)
+    @Test
+    public void testConsistenciaConMutacionesMezcladas() {
+        Random random = new Random(22);
+        String[] tiposTienda = {"normal", "autonomous", "fighter"};
+        String[] tiposRobot = {"normal", "tender", "neverback"};
+        List<RobotBase> robots = new ArrayList<>();
+        List<StoreBase> tiendas = new ArrayList<>();
+
+        for (int paso = 0; paso < 3000; paso++) {
+            int op = random.nextInt(14);
+            int pos = random.nextInt(40);
+            if (op < 2) {
+                int antes = sr.getStores().size();
+                sr.placeStore(pos, tiposTienda[random.nextInt(3)], 1 + random.nextInt(60));
+                if (sr.getStores().size() > antes) tiendas.add(sr.getStores().get(antes));
+            } else if (op < 4) {
+                sr.placeRobot(pos, tiposRobot[random.nextInt(3)]);
+                robots.add(sr.getRobots().get(sr.getRobots().size() - 1));
+            } else if (op == 4) {
+                sr.removeStore(pos);
+            } else if (op == 5) {
+                sr.removeRobot(pos);
+            } else if (op == 6) {
+                if (random.nextBoolean()) sr.reboot(); else sr.returnRobots();
+            } else if (op < 10 && !robots.isEmpty()) {
+                RobotBase r = robots.get(random.nextInt(robots.size()));
+                if (op == 7) r.moveTo(pos); else if (op == 8) r.move(); else r.reset();
+            } else if (op < 13 && !tiendas.isEmpty()) {
+                StoreBase t = tiendas.get(random.nextInt(tiendas.size()));
+                if (op == 10) t.withdraw(random.nextInt(30));
+                else if (op == 11) t.resupply();
+                else if (!robots.isEmpty() && robots.get(random.nextInt(robots.size())) instanceof TenderRobot tender) tender.collectFromStore(t);
+                else t.emptyOnce();
+            }
+
+            assertSame(masRicoExhaustivo(), sr.getRichestRobot(), "Líder en el paso " + paso);
+            int antes = sr.getProfit();
+            long esperada = mejorGananciaExhaustiva();
+            sr.moveRobot();
+            assertEquals(antes + Math.max(0, esperada), sr.getProfit(), "Movimiento automático en el paso " + paso);
+        }
+    }
+
+    // Robot con más ganancias recorriendo la lista (si empatan, el colocado antes)
+    private RobotBase masRicoExhaustivo() {
+        RobotBase mejor = null;
+        for (RobotBase r : sr.getRobots()) {
+            if (mejor == null || r.getEarnings() > mejor.getEarnings()) mejor = r;
+        }
+        return mejor;
+    }
+
+    // Mayor ganancia de un movimiento permitido recorriendo robots x tiendas, o MIN_VALUE
+    private long mejorGananciaExhaustiva() {
+        long mejor = Long.MIN_VALUE;
+        for (RobotBase r : sr.getRobots()) {
+            for (StoreBase t : sr.getStores()) {
+                if (t.getTenges() <= 0 || !r.canMoveTo(t.getPosition())) continue;
+                if (t.getType().equals("fighter") && r.getEarnings() <= t.getTenges()) continue;
+                int recogido = r.getType().equals("tender") ? t.getTenges() / 2 : t.getTenges();
+                if (recogido <= 0) continue;
+                mejor = Math.max(mejor, recogido - Math.abs((long) t.getPosition() - r.getPosition()));
+            }
+        }
+        return mejor;
+    }
+}
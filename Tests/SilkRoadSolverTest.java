@@ -0,0 +1,44 @@
+package Tests;
+
+import SilkRoads.*;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para SilkRoadSolver.
+ * Compara las ganancias diarias con la simulación completa sobre SilkRoad headless.
+ */
+public class SilkRoadSolverTest {
+
+    // Verifica un caso pequeño calculado a mano
+    @Test
+    public void testCasoPequeno() {
+        int[][] dias = {{1, 20}, {2, 15, 15}, {2, 40, 50}, {1, 50}, {2, 80, 20}, {2, 15, 99}};
+        long[] ganancias = SilkRoadSolver.solve(dias);
+        assertArrayEquals(new long[]{0, 10, 35, 35, 35, 35}, ganancias);
+    }
+
+    // Verifica días aleatorios contra la simulación con objetos
+    @Test
+    public void testCoincideConSilkRoad() {
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            int[][] dias = new int[300][];
+            for (int d = 0; d < dias.length; d++) {
+                int tipo = 1 + random.nextInt(4);
+                dias[d] = new int[]{tipo, random.nextInt(200), 1 + random.nextInt(60)};
+            }
+            long[] esperado = simularConObjetos(dias);
+            assertArrayEquals(esperado, SilkRoadSolver.solve(dias), "Ronda " + round);
+        }
+    }
+
+    // Ganancias diarias de la simulación con objetos del concurso
+    private long[] simularConObjetos(int[][] dias) {
+        int[] ganancias = new SilkRoadContestTest().resolverSimulacion(dias);
+        long[] resultado = new long[ganancias.length];
+        for (int d = 0; d < ganancias.length; d++) resultado[d] = ganancias[d];
+        return resultado;
+    }
+}
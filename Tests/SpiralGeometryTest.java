@@ -0,0 +1,88 @@
+package Tests;
+
+import SilkRoads.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de propiedad para SpiralGeometry.
+ * Compara la fórmula cerrada contra el recorrido paso a paso de la espiral.
+ */
+public class SpiralGeometryTest {
+
+    private static final int LIMITE = 4_000_000;
+
+    // Recorre la espiral paso a paso (versión original) y compara cada posición
+    @Test
+    public void testCoincideConRecorridoPasoAPaso() {
+        int r = 0, c = 0;
+        final int[] dr = {0, +1, 0, -1};
+        final int[] dc = {+1, 0, -1, 0};
+        int dir = 0, segLen = 1, used = 0;
+
+        for (int loc = 0; loc < LIMITE; loc++) {
+            int[] rc = SpiralGeometry.locationToCoords(loc);
+            if (rc[0] != r || rc[1] != c) {
+                fail("Posición " + loc + ": esperado (" + r + "," + c + ") pero fue (" + rc[0] + "," + rc[1] + ")");
+            }
+            if (SpiralGeometry.coordsToLocation(r, c) != loc) {
+                fail("Inversa de (" + r + "," + c + ") debe ser " + loc);
+            }
+
+            r += dr[dir];
+            c += dc[dir];
+            used++;
+            if (used == segLen) {
+                used = 0;
+                dir = (dir + 1) % 4;
+                if (dir % 2 == 0) segLen++;
+            }
+        }
+    }
+
+    // Verifica que toda celda de un cuadrado centrado tiene una posición única
+    @Test
+    public void testInversaCubreElCuadrado() {
+        int radio = 300;
+        for (int r = -radio; r <= radio; r++) {
+            for (int c = -radio; c <= radio; c++) {
+                int loc = SpiralGeometry.coordsToLocation(r, c);
+                assertTrue(loc >= 0, "La posición debe ser no negativa");
+                assertArrayEquals(new int[]{r, c}, SpiralGeometry.locationToCoords(loc));
+            }
+        }
+    }
+
+    // Verifica los primeros pasos y posiciones no positivas
+    @Test
+    public void testCasosBasicos() {
+        assertArrayEquals(new int[]{0, 0}, SpiralGeometry.locationToCoords(0));
+        assertArrayEquals(new int[]{0, 1}, SpiralGeometry.locationToCoords(1));
+        assertArrayEquals(new int[]{1, 1}, SpiralGeometry.locationToCoords(2));
+        assertArrayEquals(new int[]{1, 0}, SpiralGeometry.locationToCoords(3));
+        assertArrayEquals(new int[]{-1, -1}, SpiralGeometry.locationToCoords(6));
+        assertArrayEquals(new int[]{0, 0}, SpiralGeometry.locationToCoords(-5));
+    }
+
+    // Verifica que las coordenadas empaquetadas coinciden con las del arreglo, también negativas
+    @Test
+    public void testCoordenadasEmpaquetadas() {
+        for (int loc = -3; loc < 50_000; loc++) {
+            int[] rc = SpiralGeometry.locationToCoords(loc);
+            long empaquetadas = SpiralGeometry.packedCoords(loc);
+            assertEquals(rc[0], SpiralGeometry.row(empaquetadas), "Fila de " + loc);
+            assertEquals(rc[1], SpiralGeometry.col(empaquetadas), "Columna de " + loc);
+        }
+        long extremo = SpiralGeometry.pack(Integer.MIN_VALUE, -1);
+        assertEquals(Integer.MIN_VALUE, SpiralGeometry.row(extremo));
+        assertEquals(-1, SpiralGeometry.col(extremo));
+    }
+
+    // Verifica que posiciones grandes no desbordan
+    @Test
+    public void testPosicionesGrandes() {
+        int loc = Integer.MAX_VALUE;
+        int[] rc = SpiralGeometry.locationToCoords(loc);
+        assertEquals(loc, SpiralGeometry.coordsToLocation(rc[0], rc[1]));
+    }
+}
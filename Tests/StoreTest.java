@@ -57,4 +57,16 @@ public class StoreTest {
         assertEquals(0, s0.getTenges());
         assertEquals(0, s0.getTimesEmptied());
     }
+
+    @Test
+    public void withdrawRetiraParcialYCuentaVaciado() {
+        assertEquals(30, store.withdraw(30));
+        assertEquals(70, store.getTenges());
+        assertEquals(0, store.getTimesEmptied());
+
+        assertEquals("No puede retirar más de lo que hay", 70, store.withdraw(500));
+        assertEquals(0, store.getTenges());
+        assertEquals(1, store.getTimesEmptied());
+        assertEquals(0, store.withdraw(10));
+    }
 }